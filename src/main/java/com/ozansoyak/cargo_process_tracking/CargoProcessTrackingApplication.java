@@ -3,9 +3,11 @@ package com.ozansoyak.cargo_process_tracking;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class CargoProcessTrackingApplication {
 
 	public static void main(String[] args) {
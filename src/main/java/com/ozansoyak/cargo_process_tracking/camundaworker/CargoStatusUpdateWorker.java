@@ -1,25 +1,28 @@
 package com.ozansoyak.cargo_process_tracking.camundaworker;
 
+import com.ozansoyak.cargo_process_tracking.dto.CargoStatusTransitionEvent;
 import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import com.ozansoyak.cargo_process_tracking.model.ShipmentHistory;
 import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
 import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
+import com.ozansoyak.cargo_process_tracking.repository.ShipmentHistoryRepository;
 import com.ozansoyak.cargo_process_tracking.service.EmailService;
+import com.ozansoyak.cargo_process_tracking.service.impl.BpmnMetadataCache;
+import com.ozansoyak.cargo_process_tracking.service.impl.CargoMetrics;
+import com.ozansoyak.cargo_process_tracking.service.impl.CargoStatusCounter;
+import com.ozansoyak.cargo_process_tracking.service.impl.RecentActivityBuffer;
+import com.ozansoyak.cargo_process_tracking.service.impl.TrackingInfoCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.BpmnError;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
-import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
-import org.camunda.bpm.model.bpmn.instance.ServiceTask;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDateTime;
 
 @Component("cargoStatusUpdater") // BPMN'deki delegateExpression ile aynı olmalı
 @RequiredArgsConstructor
@@ -27,12 +30,22 @@ import java.util.Optional;
 public class CargoStatusUpdateWorker implements JavaDelegate {
 
     private final CargoRepository cargoRepository;
+    private final ShipmentHistoryRepository shipmentHistoryRepository;
     private final EmailService emailService;
+    private final CargoStatusCounter cargoStatusCounter;
+    private final RecentActivityBuffer recentActivityBuffer;
+    private final BpmnMetadataCache bpmnMetadataCache;
+    private final TrackingInfoCache trackingInfoCache;
+    private final CargoMetrics cargoMetrics;
     private static final String TARGET_STATUS_PROPERTY_NAME = "targetStatus"; // Extension Property adı
 
     @Override
     @Transactional
     public void execute(DelegateExecution execution) {
+        cargoMetrics.record(CargoMetrics.STATUS_UPDATE, () -> updateCargoStatus(execution), "activity", execution.getCurrentActivityId());
+    }
+
+    private void updateCargoStatus(DelegateExecution execution) {
         String activityId = execution.getCurrentActivityId();
         String activityName = execution.getCurrentActivityName();
         String executionId = execution.getId();
@@ -45,56 +58,16 @@ public class CargoStatusUpdateWorker implements JavaDelegate {
         Long cargoId = null;
 
         try {
-            // 1. Hedef Durumu BPMN Extension Property'den Al
-            ServiceTask serviceTask = (ServiceTask) execution.getBpmnModelElementInstance();
-            ExtensionElements extensionElements = serviceTask.getExtensionElements();
-
-            if (extensionElements == null) {
-                log.error("[{}] Activity '{}' için ExtensionElements bulunamadı.", executionId, activityId);
-                throw new BpmnError("CONFIG_ERROR_NO_EXTENSIONS", "ExtensionElements eksik: " + activityId);
-            }
-
-            // CamundaProperties listesini al
-            List<CamundaProperties> propertiesList = extensionElements.getElementsQuery()
-                    .filterByType(CamundaProperties.class)
-                    .list();
-
-            if (propertiesList.isEmpty()) {
-                log.error("[{}] Activity '{}' için <camunda:properties> bulunamadı.", executionId, activityId);
-                throw new BpmnError("CONFIG_ERROR_NO_PROPERTIES", "<camunda:properties> eksik: " + activityId);
-            }
-            if (propertiesList.size() > 1) {
-                log.warn("[{}] Activity '{}' için birden fazla <camunda:properties> bulundu. İlki kullanılacak.", executionId, activityId);
-            }
-            CamundaProperties camundaProperties = propertiesList.get(0); // İlkini al
-
-            // İlgili property'yi collection içinde ara
-            Collection<CamundaProperty> propsCollection = camundaProperties.getCamundaProperties();
-            Optional<CamundaProperty> targetStatusProperty = propsCollection.stream()
-                    .filter(prop -> TARGET_STATUS_PROPERTY_NAME.equals(prop.getCamundaName()))
-                    .findFirst();
-
-            if (targetStatusProperty.isEmpty()) {
-                log.error("[{}] Activity '{}' için '{}' Camunda Property bulunamadı.", executionId, activityId, TARGET_STATUS_PROPERTY_NAME);
-                throw new BpmnError("CONFIG_ERROR_NO_TARGET_STATUS", "Gerekli property eksik: " + TARGET_STATUS_PROPERTY_NAME);
-            }
-
-            String targetStatusStr = targetStatusProperty.get().getCamundaValue();
-            if (targetStatusStr == null || targetStatusStr.isBlank()) {
-                log.error("[{}] Activity '{}' için '{}' property değeri boş.", executionId, activityId, TARGET_STATUS_PROPERTY_NAME);
-                throw new BpmnError("CONFIG_ERROR_EMPTY_TARGET_STATUS", "'" + TARGET_STATUS_PROPERTY_NAME + "' değeri boş olamaz.");
-            }
-
-            // 2. String Değeri CargoStatus Enum'una Çevir
-            try {
-                targetStatus = CargoStatus.valueOf(targetStatusStr.trim().toUpperCase());
-                log.debug("[{}] Hedeflenen kargo durumu BPMN'den okundu: {}", executionId, targetStatus);
-            } catch (IllegalArgumentException e) {
-                log.error("[{}] Geçersiz kargo durumu değeri ('{}') BPMN'de tanımlanmış (Activity: {}).", executionId, targetStatusStr, activityId);
-                throw new BpmnError("CONFIG_ERROR_INVALID_STATUS_ENUM", "Geçersiz kargo durumu enum değeri: " + targetStatusStr);
+            // 1. Hedef Durumu önbelleğe alınmış BPMN metadatasından al
+            BpmnMetadataCache.ActivityMetadata activityMetadata = bpmnMetadataCache.get(execution.getProcessDefinitionId(), activityId);
+            targetStatus = activityMetadata != null ? activityMetadata.targetStatus() : null;
+            if (targetStatus == null) {
+                log.error("[{}] Activity '{}' için geçerli bir '{}' Camunda Property bulunamadı.", executionId, activityId, TARGET_STATUS_PROPERTY_NAME);
+                throw new BpmnError("CONFIG_ERROR_NO_TARGET_STATUS", "Gerekli property eksik veya geçersiz: " + TARGET_STATUS_PROPERTY_NAME);
             }
+            log.debug("[{}] Hedeflenen kargo durumu BPMN'den okundu: {}", executionId, targetStatus);
 
-            // 3. Süreç Değişkeninden cargoId'yi Al
+            // 2. Süreç Değişkeninden cargoId'yi Al
             Object cargoIdObj = execution.getVariable("cargoId");
             if (cargoIdObj == null) {
                 log.error("[{}] 'cargoId' süreç değişkeni bulunamadı veya null.", executionId);
@@ -121,7 +94,7 @@ public class CargoStatusUpdateWorker implements JavaDelegate {
             log.debug("[{}] Güncellenecek kargo ID: {}", executionId, cargoId);
             final Long finalCargoId = cargoId;
 
-            // 4. Veritabanından Kargoyu Bul
+            // 3. Veritabanından Kargoyu Bul
             Cargo cargo = cargoRepository.findById(finalCargoId)
                     .orElseThrow(() -> {
                         log.error("[{}] Veritabanında kargo bulunamadı, ID: {}", executionId, finalCargoId);
@@ -129,25 +102,36 @@ public class CargoStatusUpdateWorker implements JavaDelegate {
                         return new BpmnError("DATA_ERROR_CARGO_NOT_FOUND", "Kargo bulunamadı: ID " + finalCargoId);
                     });
 
-            // 5. Durumu Güncelle (Eğer zaten aynı değilse)
+            // 4. Durumu Güncelle (Eğer zaten aynı değilse)
             if (cargo.getCurrentStatus() == targetStatus) {
                 log.warn("[{}] Kargo (ID: {}) zaten '{}' durumunda. Güncelleme atlanıyor.", executionId, finalCargoId, targetStatus);
             } else {
                 log.info("[{}] Kargo (ID: {}) durumu '{}' -> '{}' olarak güncelleniyor.", executionId, finalCargoId, cargo.getCurrentStatus(), targetStatus);
+                cargoStatusCounter.recordTransition(cargo.getCurrentStatus(), targetStatus);
+                LocalDateTime occurredAt = LocalDateTime.now();
                 cargo.setCurrentStatus(targetStatus);
+                cargo.setLastUpdatedAt(occurredAt);
                 if (cargo.getProcessInstanceId() == null || !cargo.getProcessInstanceId().equals(processInstanceId)) {
                     log.warn("[{}] Cargo ID {} için ProcessInstanceId güncelleniyor. Eski: {}, Yeni: {}", executionId, finalCargoId, cargo.getProcessInstanceId(), processInstanceId);
                     cargo.setProcessInstanceId(processInstanceId);
                 }
                 cargoRepository.save(cargo);
+                // Takip geçmişi aynı transaction içinde yazılır; durum güncellemesi geri alınırsa kayıt da geri alınır
+                shipmentHistoryRepository.save(ShipmentHistory.builder()
+                        .cargo(cargo)
+                        .status(targetStatus)
+                        .activityId(activityId)
+                        .activityName(activityName)
+                        .activityInstanceId(execution.getActivityInstanceId())
+                        .processInstanceId(processInstanceId)
+                        .occurredAt(occurredAt)
+                        .build());
+                recentActivityBuffer.publishAfterCommit(new CargoStatusTransitionEvent(
+                        cargo.getTrackingNumber(), targetStatus, activityMetadata.displayName(), occurredAt));
+                trackingInfoCache.invalidateAfterCommit(cargo.getTrackingNumber());
                 log.info("[{}] Kargo (ID: {}) durumu başarıyla {} olarak güncellendi.", executionId, finalCargoId, targetStatus);
                 if (StringUtils.hasText(cargo.getReceiverEmail())) {
-                    emailService.sendChangedCargoStatusToReceiver(
-                            cargo.getReceiverEmail(),
-                            cargo.getTrackingNumber(),
-                            targetStatus,
-                            cargo
-                    );
+                    emailService.enqueueStatusChangeNotification(cargo, targetStatus);
                 } else {
                     log.warn("Kargo ID {} için alıcı e-posta adresi bulunamadığından durum güncelleme e-postası gönderilemedi.", cargo.getId());
                 }
@@ -161,7 +145,8 @@ public class CargoStatusUpdateWorker implements JavaDelegate {
             String targetStatusForLog = (targetStatus != null) ? targetStatus.name() : "[Belirlenemedi]";
             log.error("[{}] Kargo durumu güncellenirken (hedef: {}, cargoId: {}) beklenmedik hata: {}",
                     executionId, targetStatusForLog, cargoIdForLog, e.getMessage(), e);
-            throw new BpmnError("WORKER_UNEXPECTED_ERROR", "Durum güncellenemedi: " + e.getMessage());
+            // Görev asenkron iş olarak çalıştığından hata yukarı iletilir; iş failedJobRetryTimeCycle ile tekrar denenir, sonunda incident açılır
+            throw new ProcessEngineException("Durum güncellenemedi: " + e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
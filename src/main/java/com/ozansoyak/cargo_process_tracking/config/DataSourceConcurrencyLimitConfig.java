@@ -0,0 +1,41 @@
+package com.ozansoyak.cargo_process_tracking.config;
+
+import com.ozansoyak.cargo_process_tracking.util.ConcurrencyLimitedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Sanal iş parçacığı modunda ("virtual-threads" profili) veri kaynağını ConcurrencyLimitedDataSource ile sarar.
+ * İzin sayısı Hikari'nin maximum-pool-size değerinden alınır; böylece eşzamanlı veritabanı işi, istek
+ * iş parçacığı sayısıyla değil bağlantı havuzu boyutuyla sınırlanır.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cargo.datasource.concurrency-limit.enabled", havingValue = "true")
+@Slf4j
+public class DataSourceConcurrencyLimitConfig {
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        long acquireTimeoutMillis = environment.getProperty("cargo.datasource.concurrency-limit.acquire-timeout-ms", Long.class, 30000L);
+        Integer configuredPermits = environment.getProperty("cargo.datasource.concurrency-limit.permits", Integer.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                int permits = configuredPermits != null ? configuredPermits
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                log.info("'{}' veri kaynağı en fazla {} eşzamanlı bağlantı ile sınırlandı (bekleme süresi {} ms).", beanName, permits, acquireTimeoutMillis);
+                return new ConcurrencyLimitedDataSource(dataSource, permits, acquireTimeoutMillis);
+            }
+        };
+    }
+}
@@ -6,11 +6,14 @@ import com.ozansoyak.cargo_process_tracking.service.impl.UserDetailsServiceImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -33,11 +36,31 @@ public class SecurityConfig {
     }
 
 
+    // Actuator uç noktaları form girişi yerine HTTP Basic ile korunur; Prometheus kullanıcı adı ve şifreyle kazır.
+    // Yalnızca sağlık kontrolü herkese açıktır; ölçümler ve diğer uç noktalar kimlik ister
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(authz -> authz
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .anyRequest().authenticated()
+                )
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authz -> authz
+                        // İlk eşleşen kural geçerlidir; bu yollar aşağıdaki /api/cargos/** genel izninden önce gelmeli
+                        .requestMatchers("/api/cargos/search", "/api/cargos/cancel/bulk/**", "/api/cargos/complete-step/bulk", "/api/cargos/tasks/**").authenticated()
                         .requestMatchers(
                                 "/", "/login", "/track**", "/error",
                                 "/images/**", "/css/**", "/js/**"
@@ -47,7 +70,6 @@ public class SecurityConfig {
                         .requestMatchers("/panel/kullanici-yonetimi").hasRole("ADMIN")
                         .requestMatchers("/deployments/**").hasRole("ADMIN")
                         .requestMatchers("/panel/aktif-gorevler").authenticated()
-                        .requestMatchers("/api/cargos/tasks/**").authenticated()
                         .requestMatchers("/panel/**").authenticated()
                         .anyRequest().authenticated()
                 )
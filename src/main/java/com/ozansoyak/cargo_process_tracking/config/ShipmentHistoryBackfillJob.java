@@ -0,0 +1,140 @@
+package com.ozansoyak.cargo_process_tracking.config;
+
+import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import com.ozansoyak.cargo_process_tracking.model.ShipmentHistory;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
+import com.ozansoyak.cargo_process_tracking.repository.ShipmentHistoryRepository;
+import com.ozansoyak.cargo_process_tracking.service.impl.BpmnMetadataCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * cargo_status_event tablosundan önce oluşmuş durum değişikliklerini Camunda geçmişinden (ACT_HI_ACTINST)
+ * bu tabloya bir kez aktarır. Başlangıç kancası varsayılan olarak kapalıdır; açıldığında aktarım tamamlanınca
+ * süreç motorunun özellik tablosuna bir tamamlanma işareti yazılır ve sonraki başlangıçlarda iş atlanır.
+ * Aktivite örneği id'si benzersiz olduğundan iş tekrar çalıştırılabilir; yarıda kalırsa bir sonraki başlangıçta
+ * eksik kayıtları tamamlar.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShipmentHistoryBackfillJob {
+
+    static final String COMPLETED_PROPERTY = "cargo.shipment-history.backfill.completed-at";
+
+    private static final int PAGE_SIZE = 500;
+
+    private final HistoryService historyService;
+    private final ManagementService managementService;
+    private final CargoRepository cargoRepository;
+    private final ShipmentHistoryRepository shipmentHistoryRepository;
+    private final BpmnMetadataCache bpmnMetadataCache;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${cargo.shipment-history.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        String completedAt = managementService.getProperties().get(COMPLETED_PROPERTY);
+        if (completedAt != null) {
+            log.info("Kargo durum geçmişi aktarımı {} tarihinde tamamlanmış, atlanıyor.", completedAt);
+            return;
+        }
+        try {
+            backfill();
+            managementService.setProperty(COMPLETED_PROPERTY, LocalDateTime.now().toString());
+        } catch (Exception e) {
+            log.error("Kargo durum geçmişi Camunda geçmişinden aktarılırken hata oluştu: {}", e.getMessage(), e);
+        }
+    }
+
+    public int backfill() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // Sayfalar son görülen aktivite örneği id'sinden devam eder (keyset); offset her sayfada baştan taramaya yol açardı
+        String sql = "SELECT * FROM " + managementService.getTableName(HistoricActivityInstance.class) +
+                " WHERE ACT_TYPE_ = #{activityType} AND ID_ > #{lastId} ORDER BY ID_";
+        String lastId = "";
+        int scanned = 0;
+        int inserted = 0;
+        List<HistoricActivityInstance> page;
+        do {
+            page = historyService.createNativeHistoricActivityInstanceQuery()
+                    .sql(sql)
+                    .parameter("activityType", "serviceTask")
+                    .parameter("lastId", lastId)
+                    .listPage(0, PAGE_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            scanned += page.size();
+            lastId = page.get(page.size() - 1).getId();
+            List<HistoricActivityInstance> statusActivities = page.stream()
+                    .filter(activity -> bpmnMetadataCache.getTargetStatus(activity.getProcessDefinitionId(), activity.getActivityId()) != null)
+                    .toList();
+            if (!statusActivities.isEmpty()) {
+                Integer pageInserted = transactionTemplate.execute(status -> insertMissing(statusActivities));
+                inserted += pageInserted != null ? pageInserted : 0;
+            }
+        } while (page.size() == PAGE_SIZE);
+        log.info("Kargo durum geçmişi aktarımı tamamlandı. Taranan aktivite: {}, eklenen kayıt: {}", scanned, inserted);
+        return inserted;
+    }
+
+    private int insertMissing(List<HistoricActivityInstance> activities) {
+        Set<String> existingIds = shipmentHistoryRepository.findExistingActivityInstanceIds(
+                activities.stream().map(HistoricActivityInstance::getId).toList());
+        Set<String> processInstanceIds = activities.stream()
+                .filter(activity -> !existingIds.contains(activity.getId()))
+                .map(HistoricActivityInstance::getProcessInstanceId)
+                .collect(Collectors.toSet());
+        if (processInstanceIds.isEmpty()) {
+            return 0;
+        }
+        Map<String, Cargo> cargoByProcessInstanceId = cargoRepository.findByProcessInstanceIdIn(processInstanceIds).stream()
+                .collect(Collectors.toMap(Cargo::getProcessInstanceId, Function.identity(), (first, second) -> first));
+
+        List<ShipmentHistory> events = new ArrayList<>();
+        for (HistoricActivityInstance activity : activities) {
+            Cargo cargo = cargoByProcessInstanceId.get(activity.getProcessInstanceId());
+            if (cargo == null || existingIds.contains(activity.getId())) {
+                continue;
+            }
+            CargoStatus status = bpmnMetadataCache.getTargetStatus(activity.getProcessDefinitionId(), activity.getActivityId());
+            events.add(ShipmentHistory.builder()
+                    .cargo(cargo)
+                    .status(status)
+                    .activityId(activity.getActivityId())
+                    .activityName(StringUtils.hasText(activity.getActivityName()) ? activity.getActivityName() : null)
+                    .activityInstanceId(activity.getId())
+                    .processInstanceId(activity.getProcessInstanceId())
+                    .occurredAt(activity.getStartTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime())
+                    .build());
+        }
+        shipmentHistoryRepository.saveAll(events);
+        return events.size();
+    }
+}
@@ -1,18 +1,41 @@
 package com.ozansoyak.cargo_process_tracking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ozansoyak.cargo_process_tracking.dto.ActiveTaskCriteria;
+import com.ozansoyak.cargo_process_tracking.dto.ActiveTaskDto;
+import com.ozansoyak.cargo_process_tracking.dto.BatchCargoResponse;
+import com.ozansoyak.cargo_process_tracking.dto.BulkCancellationProgress;
+import com.ozansoyak.cargo_process_tracking.dto.BulkCancellationRequest;
+import com.ozansoyak.cargo_process_tracking.dto.BulkCancellationResponse;
+import com.ozansoyak.cargo_process_tracking.dto.BulkTaskCompletionRequest;
+import com.ozansoyak.cargo_process_tracking.dto.BulkTaskCompletionResponse;
+import com.ozansoyak.cargo_process_tracking.dto.CargoSearchCriteria;
+import com.ozansoyak.cargo_process_tracking.dto.CargoSearchSlice;
 import com.ozansoyak.cargo_process_tracking.dto.CreateCargoRequest;
 import com.ozansoyak.cargo_process_tracking.dto.CargoResponse;
 import com.ozansoyak.cargo_process_tracking.dto.TaskCompletionResponse;
 import com.ozansoyak.cargo_process_tracking.dto.TrackingInfoResponse;
 import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -22,6 +45,14 @@ import java.util.Map;
 public class CargoController {
 
     private final CargoService cargoService;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_ACTIVE_TASK_PAGE_SIZE = 200;
+    private static final int MAX_ACTIVE_TASK_STREAM_CHUNK_SIZE = 1000;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    @Value("${cargo.batch.max-size:5000}")
+    private int maxBatchSize;
 
     @PostMapping
     public ResponseEntity<?> createCargoAndStartProcess(@Valid @RequestBody CreateCargoRequest request) {
@@ -37,6 +68,27 @@ public class CargoController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createCargosInBatch(@RequestBody List<CreateCargoRequest> requests) {
+        log.info("POST /api/cargos/batch isteği alındı. Kayıt sayısı: {}", requests != null ? requests.size() : 0);
+        if (requests == null || requests.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Kargo listesi boş olamaz."));
+        }
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("message", "Tek istekte en fazla " + maxBatchSize + " kargo gönderilebilir."));
+        }
+        try {
+            BatchCargoResponse response = cargoService.createCargosInBatch(requests);
+            HttpStatus status = response.getFailureCount() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(status).body(response);
+        } catch (Exception e) {
+            log.error("Toplu kargo oluşturulurken hata oluştu: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Toplu kargo oluşturulurken bir hata oluştu: " + e.getMessage()));
+        }
+    }
+
     @PutMapping("/{trackingNumber}/cancel")
     public ResponseEntity<?> cancelCargoProcess(@PathVariable String trackingNumber) {
         log.info("PUT /api/cargos/{}/cancel isteği alındı.", trackingNumber);
@@ -54,6 +106,41 @@ public class CargoController {
         }
     }
 
+    @PostMapping("/cancel/bulk")
+    public ResponseEntity<?> cancelCargoProcessesInBulk(@RequestBody BulkCancellationRequest request) {
+        boolean hasTrackingNumbers = request.getTrackingNumbers() != null && !request.getTrackingNumbers().isEmpty();
+        log.info("POST /api/cargos/cancel/bulk isteği alındı. Takip numarası sayısı: {}, Kriter: {}",
+                hasTrackingNumbers ? request.getTrackingNumbers().size() : 0, request.getCriteria());
+        if (hasTrackingNumbers == (request.getCriteria() != null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("message", "Takip numarası listesi ya da arama kriterinden yalnızca biri verilmelidir."));
+        }
+        try {
+            BulkCancellationResponse response = cargoService.cancelCargoProcessesInBulk(request.getTrackingNumbers(), request.getCriteria());
+            return ResponseEntity.status(response.getBatchId() != null ? HttpStatus.ACCEPTED : HttpStatus.OK).body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Toplu kargo iptali sırasında beklenmedik hata: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Toplu iptal başlatılırken bir hata oluştu: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/cancel/bulk/{batchId}")
+    public ResponseEntity<?> getBulkCancellationProgress(@PathVariable String batchId) {
+        try {
+            BulkCancellationProgress progress = cargoService.getBulkCancellationProgress(batchId);
+            return ResponseEntity.ok(progress);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Toplu iptal ilerlemesi (Batch ID: {}) alınırken beklenmedik hata: {}", batchId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Toplu iptal ilerlemesi alınırken bir hata oluştu: " + e.getMessage()));
+        }
+    }
+
     @PutMapping("/{trackingNumber}/complete-step/{taskDefinitionKey}")
     public ResponseEntity<?> completeUserTaskAndPrepareNextStep(
             @PathVariable String trackingNumber,
@@ -72,6 +159,24 @@ public class CargoController {
         }
     }
 
+    @PostMapping("/complete-step/bulk")
+    public ResponseEntity<?> completeTasksInBulk(@Valid @RequestBody BulkTaskCompletionRequest request) {
+        log.info("POST /api/cargos/complete-step/bulk isteği alındı. Görev: '{}', Kayıt sayısı: {}", request.getTaskDefinitionKey(), request.getTrackingNumbers().size());
+        if (request.getTrackingNumbers().size() > maxBatchSize) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("message", "Tek istekte en fazla " + maxBatchSize + " takip numarası gönderilebilir."));
+        }
+        try {
+            BulkTaskCompletionResponse response = cargoService.completeTasksInBulk(request.getTaskDefinitionKey().trim(), request.getTrackingNumbers(), request.getVariables());
+            HttpStatus status = response.getFailureCount() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+            return ResponseEntity.status(status).body(response);
+        } catch (Exception e) {
+            log.error("Toplu görev ('{}') tamamlama sırasında beklenmedik hata: {}", request.getTaskDefinitionKey(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Toplu görev tamamlama sırasında bir sunucu hatası oluştu: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/details/{trackingNumber}")
     public ResponseEntity<?> getCargoDetailsForModal(@PathVariable String trackingNumber) {
         log.info("GET /api/cargos/details/{} isteği alındı (Modal için).", trackingNumber);
@@ -98,4 +203,59 @@ public class CargoController {
                     .body(Map.of("message", "Görev tamamlanırken bir hata oluştu: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCargos(@ModelAttribute CargoSearchCriteria criteria,
+                                          @RequestParam(required = false) String token,
+                                          @RequestParam(defaultValue = "20") int size) {
+        log.info("GET /api/cargos/search isteği alındı. Boyut: {}, Devam belirteci: {}, Filtre: {}", size, StringUtils.hasText(token), criteria);
+        try {
+            CargoSearchSlice slice = cargoService.searchCargosAfter(criteria, token, Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE));
+            return ResponseEntity.ok(slice);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            log.error("Kargo araması sırasında beklenmedik hata: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Kargo araması sırasında bir hata oluştu: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/tasks/active")
+    public ResponseEntity<?> getActiveTasks(@ModelAttribute ActiveTaskCriteria criteria,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /api/cargos/tasks/active isteği alındı. Sayfa: {}, Boyut: {}, Filtre: {}", page, size, criteria);
+        try {
+            PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_ACTIVE_TASK_PAGE_SIZE));
+            Page<ActiveTaskDto> taskPage = cargoService.getActiveUserTasks(criteria, pageable);
+            return ResponseEntity.ok(new PagedModel<>(taskPage));
+        } catch (Exception e) {
+            log.error("Aktif görevler alınırken beklenmedik hata: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Aktif görevler alınırken bir hata oluştu: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/tasks/active/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamActiveTasks(@ModelAttribute ActiveTaskCriteria criteria,
+                                                                   @RequestParam(defaultValue = "500") int chunkSize) {
+        log.info("GET /api/cargos/tasks/active/stream isteği alındı. Chunk: {}, Filtre: {}", chunkSize, criteria);
+        int effectiveChunkSize = Math.min(Math.max(chunkSize, 1), MAX_ACTIVE_TASK_STREAM_CHUNK_SIZE);
+        StreamingResponseBody body = outputStream -> cargoService.streamActiveUserTasks(criteria, effectiveChunkSize,
+                chunk -> writeNdjsonChunk(outputStream, chunk));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeNdjsonChunk(OutputStream outputStream, List<ActiveTaskDto> chunk) {
+        try {
+            for (ActiveTaskDto task : chunk) {
+                outputStream.write(objectMapper.writeValueAsBytes(task));
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
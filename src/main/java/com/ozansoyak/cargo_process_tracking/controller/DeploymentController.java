@@ -2,6 +2,7 @@ package com.ozansoyak.cargo_process_tracking.controller;
 
 import com.ozansoyak.cargo_process_tracking.dto.ProcessDefinitionDto;
 import com.ozansoyak.cargo_process_tracking.dto.StartProcessInstanceRequest;
+import com.ozansoyak.cargo_process_tracking.service.impl.BpmnMetadataCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +38,7 @@ public class DeploymentController {
 
     private final RepositoryService repositoryService;
     private final RuntimeService runtimeService;
+    private final BpmnMetadataCache bpmnMetadataCache;
 
     private void addCommonPanelAttributes(Model model, Authentication authentication, String activeMenuItem) {
         String username = "Kullanıcı";
@@ -91,6 +93,7 @@ public class DeploymentController {
                     .name(deploymentName)
                     .deploy();
 
+            bpmnMetadataCache.registerDeployment(deployment.getId());
             log.info("Yeni BPMN deploy edildi. Deployment ID: {}, Adı: {}", deployment.getId(), deployment.getName());
             redirectAttributes.addFlashAttribute("successMessage",
                     "BPMN dosyası ('" + deployment.getName() + "') başarıyla deploy edildi! ID: " + deployment.getId());
@@ -3,6 +3,7 @@ package com.ozansoyak.cargo_process_tracking.controller;
 import com.ozansoyak.cargo_process_tracking.dto.*;
 import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
 import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import com.ozansoyak.cargo_process_tracking.service.impl.CargoStatusPresentation;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,24 +32,13 @@ public class PanelController {
 
     private final CargoService cargoService;
 
+    private static final int MAX_ACTIVE_TASK_PAGE_SIZE = 200;
+
     private static final Map<CargoStatus, String> ORDERED_STATUS_DISPLAY_NAMES;
     static {
         ORDERED_STATUS_DISPLAY_NAMES = new LinkedHashMap<>();
-        Arrays.stream(CargoStatus.values()).forEach(status -> {
-            String displayName = switch (status) {
-                case PENDING -> "Beklemede";
-                case RECEIVED -> "Kargo Alındı";
-                case LOADED_ON_VEHICLE_1 -> "İlk Araca Yüklendi";
-                case AT_TRANSFER_CENTER -> "Transfer Merkezinde";
-                case LOADED_ON_VEHICLE_2 -> "Son Araca Yüklendi";
-                case AT_DISTRIBUTION_HUB -> "Dağıtım Bölgesinde";
-                case OUT_FOR_DELIVERY -> "Dağıtımda";
-                case DELIVERED -> "Teslim Edildi";
-                case CANCELLED -> "İptal Edildi";
-                default -> status.name();
-            };
-            ORDERED_STATUS_DISPLAY_NAMES.put(status, displayName);
-        });
+        Arrays.stream(CargoStatus.values()).forEach(status ->
+                ORDERED_STATUS_DISPLAY_NAMES.put(status, CargoStatusPresentation.of(status).displayName()));
     }
 
     public void addCommonPanelAttributes(Model model, Authentication authentication, String activeMenuItem) {
@@ -125,7 +115,7 @@ public class PanelController {
                                      @RequestParam(defaultValue = "10") int size,
                                      Model model, Authentication authentication) {
         addCommonPanelAttributes(model, authentication, "kargoSorgula");
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "lastUpdatedAt"));
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Order.desc("lastUpdatedAt"), Sort.Order.desc("id")));
         Page<CargoSearchResultDto> cargoPage = cargoService.searchCargos(criteria, pageable);
         model.addAttribute("kargoPage", cargoPage);
         model.addAttribute("statusDisplayMap", ORDERED_STATUS_DISPLAY_NAMES);
@@ -141,16 +131,21 @@ public class PanelController {
 
     @GetMapping("/aktif-gorevler")
     @PreAuthorize("hasRole('ADMIN')")
-    public String showActiveTasksPage(Model model, Authentication authentication) {
+    public String showActiveTasksPage(@ModelAttribute("taskCriteria") ActiveTaskCriteria criteria,
+                                      @RequestParam(defaultValue = "0") int page,
+                                      @RequestParam(defaultValue = "25") int size,
+                                      Model model, Authentication authentication) {
         addCommonPanelAttributes(model, authentication, "aktifGorevler");
 
-        List<ActiveTaskDto> activeTasks = cargoService.getActiveUserTasks(null, Collections.emptyList());
-        model.addAttribute("activeTasks", activeTasks);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_ACTIVE_TASK_PAGE_SIZE));
+        Page<ActiveTaskDto> taskPage = cargoService.getActiveUserTasks(criteria, pageable);
+        model.addAttribute("taskPage", taskPage);
+        model.addAttribute("activeTasks", taskPage.getContent());
 
-        if (activeTasks.isEmpty()) {
-            log.info("Sistemde gösterilecek aktif Camunda görevi bulunamadı (Tüm görevler sorgulandı).");
+        if (taskPage.isEmpty()) {
+            log.info("Sistemde gösterilecek aktif Camunda görevi bulunamadı. Filtre: {}", criteria);
         } else {
-            log.info("{} adet aktif Camunda görevi bulundu ve modele eklendi (Tüm görevler sorgulandı).", activeTasks.size());
+            log.info("Toplam {} aktif görevden {} tanesi modele eklendi (Sayfa {}).", taskPage.getTotalElements(), taskPage.getNumberOfElements(), taskPage.getNumber());
         }
         return "panel-aktif-gorevler";
     }
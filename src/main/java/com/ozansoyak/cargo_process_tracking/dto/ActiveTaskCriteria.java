@@ -0,0 +1,9 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.Data;
+
+@Data
+public class ActiveTaskCriteria {
+    private String taskDefinitionKey;
+    private String candidateGroup;
+}
@@ -0,0 +1,19 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCargoItemResult {
+    private int index;                  // İstek listesindeki sıra
+    private boolean success;
+    private Long id;
+    private String trackingNumber;
+    private String processInstanceId;
+    private String message;             // Hata durumunda açıklama
+}
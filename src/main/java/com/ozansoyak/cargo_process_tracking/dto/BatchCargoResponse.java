@@ -0,0 +1,19 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCargoResponse {
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+    private List<BatchCargoItemResult> items;
+}
@@ -0,0 +1,23 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCancellationProgress {
+    private String batchId;
+    private int totalJobs;
+    private int completedJobs;
+    private int failedJobs;
+    private int remainingJobs;
+    private boolean finished;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,14 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkCancellationRequest {
+
+    // Takip numaraları ya da arama kriteri verilmelidir; ikisi birlikte verilemez
+    private List<String> trackingNumbers;
+
+    private CargoSearchCriteria criteria;
+}
@@ -0,0 +1,19 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCancellationResponse {
+    private String batchId;             // Camunda batch ID'si; ilerleme bu ID ile sorgulanır (iptal edilecek süreç yoksa null)
+    private int requestedCount;
+    private int acceptedCount;
+    private List<BulkCancellationSkippedItem> skippedItems;
+}
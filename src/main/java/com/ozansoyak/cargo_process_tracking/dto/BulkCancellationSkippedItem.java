@@ -0,0 +1,15 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCancellationSkippedItem {
+    private String trackingNumber;
+    private String reason;
+}
@@ -0,0 +1,18 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskCompletionItemResult {
+    private int index;                  // İstek listesindeki sıra
+    private String trackingNumber;
+    private boolean success;
+    private String taskId;
+    private String message;             // Hata durumunda açıklama
+}
@@ -0,0 +1,21 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class BulkTaskCompletionRequest {
+
+    @NotBlank(message = "Görev anahtarı boş olamaz")
+    private String taskDefinitionKey;
+
+    @NotEmpty(message = "Takip numarası listesi boş olamaz")
+    private List<String> trackingNumbers;
+
+    // Tüm görevler tamamlanırken eklenecek ortak süreç değişkenleri (isteğe bağlı)
+    private Map<String, Object> variables;
+}
@@ -0,0 +1,20 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskCompletionResponse {
+    private String taskDefinitionKey;
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+    private List<BulkTaskCompletionItemResult> items;
+}
@@ -0,0 +1,35 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Anahtar kümesi (keyset) sayfalamasında son okunan satırın (lastUpdatedAt, id) konumu.
+ * İstemciye opak bir devam belirteci olarak base64url biçiminde verilir.
+ */
+public record CargoSearchCursor(LocalDateTime lastUpdatedAt, Long id) {
+
+    private static final char SEPARATOR = '~';
+
+    public String encode() {
+        String raw = lastUpdatedAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CargoSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new IllegalArgumentException("Geçersiz devam belirteci.");
+            }
+            return new CargoSearchCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException da IllegalArgumentException'dır
+            throw new IllegalArgumentException("Geçersiz devam belirteci.", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargoSearchSlice {
+    private List<CargoSearchResultDto> items;
+    private boolean hasNext;
+    private String nextToken; // Sonraki sayfa için opak belirteç, son sayfada null
+}
@@ -0,0 +1,18 @@
+package com.ozansoyak.cargo_process_tracking.dto;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargoStatusTransitionEvent {
+    private String trackingNumber;
+    private CargoStatus status;
+    private String displayName;     // Aktivite metadatasından gelen görünen durum adı
+    private LocalDateTime timestamp;
+}
@@ -1,11 +1,11 @@
 package com.ozansoyak.cargo_process_tracking.model;
 
 import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.util.SearchTextNormalizer;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 @Getter
@@ -13,11 +13,20 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "cargos")
+// PostgreSQL şeması db/migration altındaki Flyway göçlerindedir; buradaki indeksler yalnızca ddl-auto ile kurulan
+// veritabanları içindir. Göçlerdeki kısmi indeksler (yalnızca süreçteki kargolar) burada tam indeks olarak tanımlıdır.
+@Table(name = "cargos", indexes = {
+        @Index(name = "idx_cargos_last_updated_at_id", columnList = "lastUpdatedAt, id"),
+        @Index(name = "idx_cargos_active_status_last_updated_at_id", columnList = "currentStatus, lastUpdatedAt, id"),
+        @Index(name = "idx_cargos_process_instance_id", columnList = "processInstanceId")
+})
 public class Cargo {
 
+    // Id'ler süreç başlamadan önce, insert'ten bağımsız olarak ayrılır (CargoBatchRepository.assignIds).
+    // allocationSize, V3 göçündeki cargos_seq INCREMENT BY değeriyle aynı olmalıdır
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cargos_seq")
+    @SequenceGenerator(name = "cargos_seq", sequenceName = "cargos_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false, length = 50)
@@ -70,14 +79,24 @@ public class Cargo {
 
     private String processInstanceId;
 
-    @CreationTimestamp
+    // Zaman damgalarını uygulama verir: kargolar JDBC ile eklendiğinden Hibernate'in otomatik damgaları insert'te çalışmaz
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime lastUpdatedAt;
 
-    //@OneToMany(mappedBy = "cargo", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    //private List<ShipmentHistory> history;
-}
\ No newline at end of file
+    // Müşteri araması için normalize edilmiş ad/telefon birleşimi, PostgreSQL'de pg_trgm GIN indeksi ile aranır
+    @Column(length = 600)
+    private String searchText;
+
+    @OneToMany(mappedBy = "cargo", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OrderBy("occurredAt ASC, id ASC")
+    private List<ShipmentHistory> history;
+
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchText() {
+        this.searchText = SearchTextNormalizer.buildSearchText(senderName, receiverName, senderPhone, receiverPhone);
+    }
+}
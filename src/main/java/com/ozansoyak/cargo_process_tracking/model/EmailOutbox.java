@@ -0,0 +1,77 @@
+package com.ozansoyak.cargo_process_tracking.model;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durum değişikliği bildirimleri için işlem içi giden kutusu (transactional outbox). Kayıt, durumu güncelleyen
+ * transaction ile birlikte yazılır; gönderimi EmailOutboxDispatcher yapar. E-posta metni gönderim anında
+ * buradaki alanlardan oluşturulur. Birleştirme penceresi içinde gelen yeni durumlar aynı kayda eklenir; alıcı
+ * son durumu ve ara adımları tek e-postada görür.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_status_id", columnList = "status, id"),
+        @Index(name = "idx_email_outbox_open_digest", columnList = "cargoId, recipient")
+})
+public class EmailOutbox {
+
+    public static final String STATUS_TRAIL_SEPARATOR = ",";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long cargoId;
+
+    @Column(nullable = false, length = 50)
+    private String trackingNumber;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String receiverName;
+
+    @Column(length = 100)
+    private String receiverCity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private CargoStatus cargoStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime statusChangedAt;
+
+    // Bu bildirimde toplanan durumlar, eskiden yeniye virgülle ayrılmış (son eleman cargoStatus ile aynıdır)
+    @Column(nullable = false, length = 500)
+    private String statusTrail;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailOutboxStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // Bir sonraki deneme zamanı; gönderim sırasında kiralama (lease) süresi olarak da kullanılır
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,52 @@
+package com.ozansoyak.cargo_process_tracking.model;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kargonun durum değişikliklerinin yalnızca eklenen (append-only) kaydı. Takip ekranındaki zaman çizelgesi
+ * Camunda geçmişi yerine bu tablodan okunur, böylece Camunda'nın geçmiş seviyesi ve temizliğinden etkilenmez.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "cargo_status_event", indexes = {
+        @Index(name = "idx_cargo_status_event_cargo_occurred", columnList = "cargo_id, occurredAt"),
+        @Index(name = "uk_cargo_status_event_activity_instance", columnList = "activityInstanceId", unique = true)
+})
+public class ShipmentHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "cargo_id", nullable = false, updatable = false)
+    private Cargo cargo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50, updatable = false)
+    private CargoStatus status;
+
+    // Durumu güncelleyen BPMN aktivitesi
+    @Column(length = 100, updatable = false)
+    private String activityId;
+
+    @Column(updatable = false)
+    private String activityName;
+
+    @Column(length = 64, updatable = false)
+    private String activityInstanceId;
+
+    @Column(length = 64, updatable = false)
+    private String processInstanceId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,24 @@
+package com.ozansoyak.cargo_process_tracking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Düğüm başına takip numarası kirası. Düğüm, leasedUntilEpochSecond'dan önceki saniyeler için numara verebilir;
+ * değer yalnızca ileri gider. Uygulama yeniden başladığında ya da saat geri alındığında üretici bu sınırın
+ * altına inmez, böylece daha önce (ödünç alınmış saniyelerde) verilmiş numaralar tekrar üretilmez.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tracking_number_lease")
+public class TrackingNumberLease {
+
+    @Id
+    private Integer nodeId;
+
+    @Column(nullable = false)
+    private Long leasedUntilEpochSecond;
+}
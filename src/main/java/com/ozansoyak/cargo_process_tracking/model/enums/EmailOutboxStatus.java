@@ -0,0 +1,7 @@
+package com.ozansoyak.cargo_process_tracking.model.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,    // Gönderilmeyi (veya tekrar denenmeyi) bekliyor
+    SENT,       // SMTP sunucusu kabul etti
+    DEAD        // Deneme hakkı bitti, elle incelenmeli
+}
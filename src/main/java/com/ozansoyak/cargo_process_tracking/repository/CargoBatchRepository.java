@@ -0,0 +1,89 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Kargo kabulü için JPA yerine doğrudan JDBC batch kullanan yazıcı.
+ * Id'ler Hibernate'in cargos_seq havuzundan önceden ayrılır; süreç bu id ile başlatılır ve satır
+ * süreç örneği id'siyle birlikte tek bir insert olarak yazılır, ardından güncelleme gerekmez.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CargoBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO cargos (tracking_number, sender_name, sender_address, sender_city, sender_phone, sender_email, " +
+            "receiver_name, receiver_address, receiver_city, receiver_phone, receiver_email, weight, dimensions, content_description, " +
+            "current_status, process_instance_id, created_at, last_updated_at, search_text, id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    /**
+     * Kargolara Cargo eşlemesinin id üretecinden id verir. Üreteç havuzludur (allocationSize); veritabanına
+     * her kargo için değil, havuz tükendiğinde bir kez gidilir. Açık bir transaction içinde çağrılmalıdır.
+     */
+    public void assignIds(List<Cargo> cargos) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Cargo.class).getGenerator();
+        for (Cargo cargo : cargos) {
+            cargo.setId((Long) generator.generate(session, cargo));
+        }
+    }
+
+    /** Id'si assignIds ile ayrılmış kargoları ekler. */
+    public void insertAll(List<Cargo> cargos) {
+        if (cargos.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Cargo cargo = cargos.get(i);
+                cargo.refreshSearchText();
+                ps.setString(1, cargo.getTrackingNumber());
+                ps.setString(2, cargo.getSenderName());
+                ps.setString(3, cargo.getSenderAddress());
+                ps.setString(4, cargo.getSenderCity());
+                ps.setString(5, cargo.getSenderPhone());
+                ps.setString(6, cargo.getSenderEmail());
+                ps.setString(7, cargo.getReceiverName());
+                ps.setString(8, cargo.getReceiverAddress());
+                ps.setString(9, cargo.getReceiverCity());
+                ps.setString(10, cargo.getReceiverPhone());
+                ps.setString(11, cargo.getReceiverEmail());
+                ps.setDouble(12, cargo.getWeight());
+                ps.setString(13, cargo.getDimensions());
+                ps.setString(14, cargo.getContentDescription());
+                ps.setString(15, cargo.getCurrentStatus().name());
+                if (cargo.getProcessInstanceId() != null) {
+                    ps.setString(16, cargo.getProcessInstanceId());
+                } else {
+                    ps.setNull(16, Types.VARCHAR);
+                }
+                ps.setTimestamp(17, Timestamp.valueOf(cargo.getCreatedAt()));
+                ps.setTimestamp(18, Timestamp.valueOf(cargo.getLastUpdatedAt()));
+                ps.setString(19, cargo.getSearchText());
+                ps.setLong(20, cargo.getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return cargos.size();
+            }
+        });
+    }
+}
@@ -4,9 +4,13 @@ import com.ozansoyak.cargo_process_tracking.model.Cargo;
 import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,8 +20,19 @@ public interface CargoRepository extends JpaRepository<Cargo, Long>, JpaSpecific
 
     boolean existsByTrackingNumber(String trackingNumber);
 
+    List<Cargo> findByTrackingNumberIn(Collection<String> trackingNumbers);
+
+    List<Cargo> findByProcessInstanceIdIn(Collection<String> processInstanceIds);
+
     long countByCurrentStatus(CargoStatus status);
 
     long countByCurrentStatusIn(Collection<CargoStatus> statuses);
 
+    @Query("select c.currentStatus as status, count(c) as total from Cargo c group by c.currentStatus")
+    List<CargoStatusCount> countGroupedByCurrentStatus();
+
+    @Modifying
+    @Query("update Cargo c set c.lastUpdatedAt = :updatedAt where c.id in :ids")
+    int updateLastUpdatedAt(Collection<Long> ids, LocalDateTime updatedAt);
+
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.ozansoyak.cargo_process_tracking.repository;
 
 import com.ozansoyak.cargo_process_tracking.dto.CargoSearchCriteria;
+import com.ozansoyak.cargo_process_tracking.dto.CargoSearchCursor;
 import com.ozansoyak.cargo_process_tracking.model.Cargo;
 import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.util.SearchTextNormalizer;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
@@ -21,14 +23,10 @@ public class CargoSpecification {
                 predicates.add(criteriaBuilder.equal(root.get("trackingNumber"), criteria.getTrackingNo().trim()));
             }
 
-            // Müşteri Bilgisi Filtresi (Gönderici Adı, Alıcı Adı veya Telefonlarından birinde arama - case-insensitive)
-            if (StringUtils.hasText(criteria.getCustomerInfo())) {
-                String likePattern = "%" + criteria.getCustomerInfo().toLowerCase() + "%";
-                Predicate senderNameLike = criteriaBuilder.like(criteriaBuilder.lower(root.get("senderName")), likePattern);
-                Predicate receiverNameLike = criteriaBuilder.like(criteriaBuilder.lower(root.get("receiverName")), likePattern);
-                Predicate senderPhoneLike = criteriaBuilder.like(root.get("senderPhone"), "%" + criteria.getCustomerInfo() + "%");
-                Predicate receiverPhoneLike = criteriaBuilder.like(root.get("receiverPhone"), "%" + criteria.getCustomerInfo() + "%");
-                predicates.add(criteriaBuilder.or(senderNameLike, receiverNameLike, senderPhoneLike, receiverPhoneLike));
+            // Müşteri Bilgisi Filtresi (Gönderici/alıcı adı veya telefonları; normalize edilmiş search_text kolonu üzerinde trigram indeksli arama)
+            String searchTerm = SearchTextNormalizer.normalizeQuery(criteria.getCustomerInfo());
+            if (searchTerm != null) {
+                predicates.add(criteriaBuilder.like(root.get("searchText"), SearchTextNormalizer.toContainsPattern(searchTerm), '\\'));
             }
 
             // Durum Filtresi
@@ -41,8 +39,21 @@ public class CargoSpecification {
                 }
             }
 
-            query.orderBy(criteriaBuilder.desc(root.get("id")));
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    /** Henüz teslim edilmemiş ve iptal edilmemiş kargolar. */
+    public static Specification<Cargo> cancellable() {
+        return (root, query, criteriaBuilder) -> root.get("currentStatus").in(CargoStatus.DELIVERED, CargoStatus.CANCELLED).not();
+    }
+
+    /** (lastUpdatedAt, id) azalan sıralamada verilen konumdan sonra gelen kayıtlar. */
+    public static Specification<Cargo> after(CargoSearchCursor cursor) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("lastUpdatedAt"), cursor.lastUpdatedAt()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("lastUpdatedAt"), cursor.lastUpdatedAt()),
+                        criteriaBuilder.lessThan(root.get("id"), cursor.id())));
+    }
+}
@@ -0,0 +1,10 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+
+public interface CargoStatusCount {
+
+    CargoStatus getStatus();
+
+    long getTotal();
+}
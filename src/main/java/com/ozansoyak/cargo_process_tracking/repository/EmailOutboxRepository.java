@@ -0,0 +1,64 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
+import com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Zamanı gelmiş bekleyen kayıtları kilitleyerek okur. Kilit zaman aşımı -2, PostgreSQL'de
+     * FOR UPDATE SKIP LOCKED üretir; böylece birden fazla düğüm aynı kayıtları almaz.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from EmailOutbox o where o.status = :status and o.nextAttemptAt <= :now order by o.id")
+    List<EmailOutbox> findDueForUpdate(EmailOutboxStatus status, LocalDateTime now, Limit limit);
+
+    /**
+     * Birleştirme penceresi hâlâ açık olan (henüz hiç gönderilmemiş ve windowStart'tan sonra oluşturulmuş)
+     * bildirimi kilitleyerek okur. Zamanı gelmemiş kayıt dağıtıcı tarafından alınmaz; kilit beklenirken pencere
+     * kapanmış olabileceğinden çağıran, kilidi aldıktan sonra pencerenin hâlâ açık olduğunu ayrıca doğrular.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from EmailOutbox o where o.cargoId = :cargoId and o.recipient = :recipient " +
+            "and o.status = com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus.PENDING " +
+            "and o.attempts = 0 and o.createdAt > :windowStart order by o.id desc")
+    List<EmailOutbox> findOpenDigestForUpdate(Long cargoId, String recipient, LocalDateTime windowStart, Limit limit);
+
+    @Modifying
+    @Query("update EmailOutbox o set o.nextAttemptAt = :leaseUntil where o.id in :ids")
+    int lease(Collection<Long> ids, LocalDateTime leaseUntil);
+
+    /**
+     * Gönderilen kayıtları yalnızca kira hâlâ bu gönderime aitse (kayıt bekliyor ve nextAttemptAt verilen kira
+     * bitişine eşit) günceller. Kira dolup kayıt başka bir gönderici tarafından yeniden alındıysa satır atlanır.
+     */
+    @Modifying
+    @Query("update EmailOutbox o set o.status = com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus.SENT, " +
+            "o.sentAt = :sentAt, o.attempts = o.attempts + 1, o.lastError = null where o.id in :ids " +
+            "and o.status = com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus.PENDING and o.nextAttemptAt = :leaseUntil")
+    int markSent(Collection<Long> ids, LocalDateTime leaseUntil, LocalDateTime sentAt);
+
+    /** markSent ile aynı kira koşuluyla başarısız denemeyi kaydeder; kira kaybedildiyse 0 döner. */
+    @Modifying
+    @Query("update EmailOutbox o set o.status = :status, o.attempts = :attempts, o.nextAttemptAt = :nextAttemptAt, " +
+            "o.lastError = :lastError where o.id = :id " +
+            "and o.status = com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus.PENDING and o.nextAttemptAt = :leaseUntil")
+    int markFailed(Long id, LocalDateTime leaseUntil, EmailOutboxStatus status, int attempts, LocalDateTime nextAttemptAt, String lastError);
+
+    long countByStatus(EmailOutboxStatus status);
+}
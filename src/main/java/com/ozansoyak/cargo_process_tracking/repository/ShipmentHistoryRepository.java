@@ -0,0 +1,19 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import com.ozansoyak.cargo_process_tracking.model.ShipmentHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface ShipmentHistoryRepository extends JpaRepository<ShipmentHistory, Long> {
+
+    List<ShipmentHistory> findByCargoIdOrderByOccurredAtAscIdAsc(Long cargoId);
+
+    @Query("select h.activityInstanceId from ShipmentHistory h where h.activityInstanceId in :activityInstanceIds")
+    Set<String> findExistingActivityInstanceIds(Collection<String> activityInstanceIds);
+}
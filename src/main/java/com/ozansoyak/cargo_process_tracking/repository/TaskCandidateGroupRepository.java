@@ -0,0 +1,41 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Camunda API'si görev başına identity link sorgusu sunduğundan, çok sayıda görevin
+ * aday gruplarını tek sorguda okumak için identity link tablosuna doğrudan gidilir.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskCandidateGroupRepository {
+
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ManagementService managementService;
+
+    public Map<String, List<String>> findCandidateGroupsByTaskIds(Collection<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Map.of();
+        }
+        String sql = "SELECT TASK_ID_, GROUP_ID_ FROM " + managementService.getTableName(IdentityLinkEntity.class) +
+                " WHERE TYPE_ = 'candidate' AND GROUP_ID_ IS NOT NULL AND TASK_ID_ IN (:taskIds)";
+        Map<String, List<String>> groupsByTaskId = new HashMap<>();
+        List<String> ids = new ArrayList<>(taskIds);
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            jdbcTemplate.query(sql, new MapSqlParameterSource("taskIds", chunk), rs -> {
+                groupsByTaskId.computeIfAbsent(rs.getString("TASK_ID_"), k -> new ArrayList<>()).add(rs.getString("GROUP_ID_"));
+            });
+        }
+        return groupsByTaskId;
+    }
+}
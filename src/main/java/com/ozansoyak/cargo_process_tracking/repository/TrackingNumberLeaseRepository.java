@@ -0,0 +1,18 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import com.ozansoyak.cargo_process_tracking.model.TrackingNumberLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TrackingNumberLeaseRepository extends JpaRepository<TrackingNumberLease, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from TrackingNumberLease l where l.nodeId = :nodeId")
+    Optional<TrackingNumberLease> findForUpdate(Integer nodeId);
+}
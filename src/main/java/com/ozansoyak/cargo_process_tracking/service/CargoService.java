@@ -3,19 +3,27 @@ package com.ozansoyak.cargo_process_tracking.service;
 import com.ozansoyak.cargo_process_tracking.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import java.util.Map;
-
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 
 public interface CargoService {
 
     CargoResponse createCargoAndStartProcess(CreateCargoRequest request);
 
+    BatchCargoResponse createCargosInBatch(List<CreateCargoRequest> requests);
+
     void cancelCargoProcess(String trackingNumber);
 
+    BulkCancellationResponse cancelCargoProcessesInBulk(List<String> trackingNumbers, CargoSearchCriteria criteria);
+
+    BulkCancellationProgress getBulkCancellationProgress(String batchId);
+
     TaskCompletionResponse completeUserTaskAndPrepareNextStep(String trackingNumber, String taskDefinitionKey, Map<String, Object> taskVariables);
 
+    BulkTaskCompletionResponse completeTasksInBulk(String taskDefinitionKey, List<String> trackingNumbers, Map<String, Object> taskVariables);
+
     TrackingInfoResponse getTrackingInfo(String trackingNumber);
 
     void completeTaskByIdAndPrepareNextStep(String taskId);
@@ -24,5 +32,9 @@ public interface CargoService {
 
     Page<CargoSearchResultDto> searchCargos(CargoSearchCriteria criteria, Pageable pageable);
 
-    List<ActiveTaskDto> getActiveUserTasks(String username, List<String> userGroups);
+    CargoSearchSlice searchCargosAfter(CargoSearchCriteria criteria, String continuationToken, int size);
+
+    Page<ActiveTaskDto> getActiveUserTasks(ActiveTaskCriteria criteria, Pageable pageable);
+
+    void streamActiveUserTasks(ActiveTaskCriteria criteria, int chunkSize, Consumer<List<ActiveTaskDto>> chunkConsumer);
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.ozansoyak.cargo_process_tracking.service;
 
 import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
 import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import org.springframework.mail.SimpleMailMessage;
 
 public interface EmailService {
-    void sendChangedCargoStatusToReceiver(String toEmail, String trackingNumber, CargoStatus newStatus, Cargo cargoDetails);
+
+    /** Bildirimi çağıranın transaction'ı içinde giden kutusuna yazar; gönderim ayrı bir dağıtıcı tarafından yapılır. */
+    void enqueueStatusChangeNotification(Cargo cargo, CargoStatus newStatus);
+
+    SimpleMailMessage buildStatusChangeMessage(EmailOutbox notification);
 }
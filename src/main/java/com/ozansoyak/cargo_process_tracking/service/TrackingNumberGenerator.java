@@ -0,0 +1,6 @@
+package com.ozansoyak.cargo_process_tracking.service;
+
+public interface TrackingNumberGenerator {
+
+    String nextTrackingNumber();
+}
@@ -0,0 +1,15 @@
+package com.ozansoyak.cargo_process_tracking.service;
+
+/**
+ * Takip numarası üreticisinin düğüm başına kirasını uygulama yeniden başlasa da korunacak şekilde saklar.
+ */
+public interface TrackingNumberLeaseStore {
+
+    /**
+     * Düğüm için {@code seconds} saniyelik yeni bir aralık ayırır. Aralık, saklanan kira sınırından ve
+     * {@code fromEpochSecond}'dan büyük olanıyla başlar; kira sınırı aralığın sonuna taşınır.
+     *
+     * @return ayrılan aralığın ilk saniyesi
+     */
+    long reserve(int nodeId, long fromEpochSecond, long seconds);
+}
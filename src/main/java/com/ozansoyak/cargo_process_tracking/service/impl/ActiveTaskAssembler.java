@@ -0,0 +1,105 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.dto.ActiveTaskDto;
+import com.ozansoyak.cargo_process_tracking.repository.TaskCandidateGroupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Aktif görev listesini görev başına sorgu atmadan oluşturur: süreç tanımları, süreç örnekleri
+ * ve aday gruplar birer küme sorgusuyla yüklenip bellekte birleştirilir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveTaskAssembler {
+
+    private final RuntimeService runtimeService;
+    private final RepositoryService repositoryService;
+    private final TaskCandidateGroupRepository taskCandidateGroupRepository;
+
+    public List<ActiveTaskDto> assemble(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        Map<String, ProcessDefinition> pdMap = loadProcessDefinitions(tasks);
+        Map<String, String> businessKeyByProcessInstanceId = loadBusinessKeys(tasks);
+        Map<String, List<String>> candidateGroupsByTaskId = loadCandidateGroups(tasks);
+
+        return tasks.stream()
+                .map(task -> {
+                    ProcessDefinition pd = pdMap.get(task.getProcessDefinitionId());
+                    String processDefinitionName = "Bilinmeyen Süreç";
+                    if (pd != null) {
+                        processDefinitionName = StringUtils.hasText(pd.getName()) ? pd.getName() : pd.getKey();
+                    } else if (task.getProcessDefinitionId() != null) {
+                        processDefinitionName = "Tanım ID: " + task.getProcessDefinitionId();
+                    }
+
+                    return ActiveTaskDto.builder()
+                            .taskId(task.getId())
+                            .taskName(StringUtils.hasText(task.getName()) ? task.getName() : task.getTaskDefinitionKey())
+                            .taskDefinitionKey(task.getTaskDefinitionKey())
+                            .processInstanceId(task.getProcessInstanceId())
+                            .processDefinitionName(processDefinitionName)
+                            .businessKey(businessKeyByProcessInstanceId.get(task.getProcessInstanceId()))
+                            .createTime(task.getCreateTime() != null ? task.getCreateTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime() : null)
+                            .assignee(task.getAssignee())
+                            .candidateGroups(candidateGroupsByTaskId.getOrDefault(task.getId(), Collections.emptyList()))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, ProcessDefinition> loadProcessDefinitions(List<Task> tasks) {
+        Set<String> processDefinitionIds = tasks.stream()
+                .map(Task::getProcessDefinitionId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (processDefinitionIds.isEmpty()) {
+            return Map.of();
+        }
+        return repositoryService.createProcessDefinitionQuery()
+                .processDefinitionIdIn(processDefinitionIds.toArray(new String[0]))
+                .list().stream()
+                .collect(Collectors.toMap(ProcessDefinition::getId, pd -> pd));
+    }
+
+    private Map<String, String> loadBusinessKeys(List<Task> tasks) {
+        Set<String> processInstanceIds = tasks.stream()
+                .map(Task::getProcessInstanceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (processInstanceIds.isEmpty()) {
+            return Map.of();
+        }
+        return runtimeService.createProcessInstanceQuery()
+                .processInstanceIds(processInstanceIds)
+                .list().stream()
+                .filter(pi -> pi.getBusinessKey() != null)
+                .collect(Collectors.toMap(ProcessInstance::getProcessInstanceId, ProcessInstance::getBusinessKey, (key1, key2) -> key1));
+    }
+
+    private Map<String, List<String>> loadCandidateGroups(List<Task> tasks) {
+        try {
+            return taskCandidateGroupRepository.findCandidateGroupsByTaskIds(
+                    tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        } catch (ProcessEngineException | DataAccessException e) {
+            log.warn("{} görev için aday gruplar toplu alınırken hata: {}", tasks.size(), e.getMessage());
+            return Map.of();
+        }
+    }
+}
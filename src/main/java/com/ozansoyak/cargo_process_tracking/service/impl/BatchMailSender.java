@@ -0,0 +1,68 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir grup e-postayı tek SMTP bağlantısı açarak gönderir (JavaMailSenderImpl dizi gönderiminde bağlantıyı
+ * mesajlar arasında yeniden kullanır) ve başarısız olan mesajları çağıranın anahtarıyla geri bildirir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BatchMailSender {
+
+    private final JavaMailSender mailSender;
+
+    public <K> Map<K, Exception> sendAll(Map<K, SimpleMailMessage> messages) {
+        if (messages.isEmpty()) {
+            return Map.of();
+        }
+        List<K> keys = new ArrayList<>(messages.keySet());
+        SimpleMailMessage[] batch = new SimpleMailMessage[keys.size()];
+        Map<SimpleMailMessage, K> keyByMessage = new IdentityHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            batch[i] = messages.get(keys.get(i));
+            keyByMessage.put(batch[i], keys.get(i));
+        }
+
+        try {
+            mailSender.send(batch);
+            return Map.of();
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                return failAll(keys, e);
+            }
+            Map<K, Exception> failures = new LinkedHashMap<>();
+            failedMessages.forEach((message, exception) -> {
+                K key = keyByMessage.get(message);
+                if (key != null) {
+                    failures.put(key, exception);
+                }
+            });
+            // Eşlenemeyen bir hata varsa hiçbir mesajı gönderilmiş saymamak daha güvenli
+            return failures.size() == failedMessages.size() ? failures : failAll(keys, e);
+        } catch (MailException e) {
+            return failAll(keys, e);
+        }
+    }
+
+    private <K> Map<K, Exception> failAll(List<K> keys, Exception e) {
+        log.warn("{} e-postalık grup gönderilemedi: {}", keys.size(), e.getMessage());
+        Map<K, Exception> failures = new LinkedHashMap<>();
+        keys.forEach(key -> failures.put(key, e));
+        return failures;
+    }
+}
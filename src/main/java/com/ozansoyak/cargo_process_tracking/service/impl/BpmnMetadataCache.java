@@ -0,0 +1,164 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.instance.Activity;
+import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
+import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * BPMN aktivitelerindeki {@code nextStepVariable} ve {@code targetStatus} özelliklerini süreç tanımı
+ * başına bir kez ayrıştırıp saklar. Süreç tanımları değişmez olduğundan kayıtlar yalnızca yeni
+ * deployment ile aynı anahtarın eski sürümleri için temizlenir; ihtiyaç olursa yeniden yüklenir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BpmnMetadataCache {
+
+    private static final String NEXT_STEP_VARIABLE_PROPERTY_NAME = "nextStepVariable";
+    private static final String TARGET_STATUS_PROPERTY_NAME = "targetStatus";
+    private static final String STATUS_UPDATE_NAME_PREFIX = "Durumu Güncelle: ";
+
+    private final RepositoryService repositoryService;
+
+    private final Map<String, Map<String, ActivityMetadata>> metadataByProcessDefinitionId = new ConcurrentHashMap<>();
+
+    /**
+     * Bir BPMN aktivitesinin önceden hesaplanmış bilgileri. Durum güncelleyen aktivitelerde görünen ad, rozet
+     * ve konum da deploy sırasında {@code targetStatus} özelliğinden türetilir; diğerlerinde bu alanlar null'dır.
+     */
+    public record ActivityMetadata(String nextStepVariable, CargoStatus targetStatus,
+                                   String displayName, String badgeClass, String location) {
+    }
+
+    public String getNextStepVariable(String processDefinitionId, String activityId) {
+        ActivityMetadata metadata = get(processDefinitionId, activityId);
+        return metadata != null ? metadata.nextStepVariable() : null;
+    }
+
+    public CargoStatus getTargetStatus(String processDefinitionId, String activityId) {
+        ActivityMetadata metadata = get(processDefinitionId, activityId);
+        return metadata != null ? metadata.targetStatus() : null;
+    }
+
+    public ActivityMetadata get(String processDefinitionId, String activityId) {
+        if (processDefinitionId == null || activityId == null) {
+            return null;
+        }
+        Map<String, ActivityMetadata> metadataByActivityId = metadataByProcessDefinitionId.get(processDefinitionId);
+        if (metadataByActivityId == null) {
+            metadataByActivityId = metadataByProcessDefinitionId.computeIfAbsent(processDefinitionId, this::parse);
+        }
+        return metadataByActivityId.get(activityId);
+    }
+
+    /** Yeni deployment'taki süreç tanımlarını önceden ayrıştırır ve aynı anahtarların eski sürümlerini önbellekten çıkarır. */
+    public void registerDeployment(String deploymentId) {
+        List<ProcessDefinition> definitions = repositoryService.createProcessDefinitionQuery().deploymentId(deploymentId).list();
+        Set<String> deployedKeys = definitions.stream().map(ProcessDefinition::getKey).collect(Collectors.toSet());
+        Set<String> deployedIds = definitions.stream().map(ProcessDefinition::getId).collect(Collectors.toSet());
+        if (!deployedKeys.isEmpty()) {
+            repositoryService.createProcessDefinitionQuery().processDefinitionKeyIn(deployedKeys.toArray(String[]::new)).list().stream()
+                    .map(ProcessDefinition::getId)
+                    .filter(id -> !deployedIds.contains(id))
+                    .forEach(this::evict);
+        }
+        definitions.forEach(pd -> metadataByProcessDefinitionId.put(pd.getId(), parse(pd.getId())));
+        log.info("Deployment {} için {} süreç tanımının BPMN metadatası önbelleğe alındı.", deploymentId, definitions.size());
+    }
+
+    public void evict(String processDefinitionId) {
+        metadataByProcessDefinitionId.remove(processDefinitionId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preloadLatestDefinitions() {
+        try {
+            List<ProcessDefinition> definitions = repositoryService.createProcessDefinitionQuery().active().latestVersion().list();
+            definitions.forEach(pd -> metadataByProcessDefinitionId.computeIfAbsent(pd.getId(), this::parse));
+            log.info("{} süreç tanımının BPMN metadatası başlangıçta önbelleğe alındı.", definitions.size());
+        } catch (Exception e) {
+            log.error("BPMN metadatası başlangıçta yüklenirken hata oluştu: {}", e.getMessage(), e);
+        }
+    }
+
+    private Map<String, ActivityMetadata> parse(String processDefinitionId) {
+        BpmnModelInstance modelInstance = repositoryService.getBpmnModelInstance(processDefinitionId);
+        if (modelInstance == null) {
+            log.error("BPMN modeli bulunamadı: {}", processDefinitionId);
+            return Map.of();
+        }
+        Map<String, ActivityMetadata> metadataByActivityId = new HashMap<>();
+        for (Activity activity : modelInstance.getModelElementsByType(Activity.class)) {
+            Map<String, String> properties = readCamundaProperties(activity.getExtensionElements());
+            String nextStepVariable = properties.get(NEXT_STEP_VARIABLE_PROPERTY_NAME);
+            CargoStatus targetStatus = parseTargetStatus(processDefinitionId, activity.getId(), properties.get(TARGET_STATUS_PROPERTY_NAME));
+            if (StringUtils.hasText(nextStepVariable) || targetStatus != null) {
+                metadataByActivityId.put(activity.getId(), buildMetadata(activity,
+                        StringUtils.hasText(nextStepVariable) ? nextStepVariable : null, targetStatus));
+            }
+        }
+        log.debug("Süreç tanımı {} için {} aktivitenin metadatası ayrıştırıldı.", processDefinitionId, metadataByActivityId.size());
+        return Map.copyOf(metadataByActivityId);
+    }
+
+    private ActivityMetadata buildMetadata(Activity activity, String nextStepVariable, CargoStatus targetStatus) {
+        if (targetStatus == null) {
+            return new ActivityMetadata(nextStepVariable, null, null, null, null);
+        }
+        CargoStatusPresentation presentation = CargoStatusPresentation.of(targetStatus);
+        String displayName = presentation.displayName();
+        String activityName = activity.getName();
+        if (StringUtils.hasText(activityName) && activityName.startsWith(STATUS_UPDATE_NAME_PREFIX)) {
+            displayName = activityName.substring(STATUS_UPDATE_NAME_PREFIX.length()).trim();
+        }
+        return new ActivityMetadata(nextStepVariable, targetStatus, displayName, presentation.badgeClass(), presentation.location());
+    }
+
+    private Map<String, String> readCamundaProperties(ExtensionElements extensionElements) {
+        if (extensionElements == null) {
+            return Map.of();
+        }
+        List<CamundaProperties> propertiesList = extensionElements.getElementsQuery().filterByType(CamundaProperties.class).list();
+        if (propertiesList.isEmpty()) {
+            return Map.of();
+        }
+        // Birden fazla <camunda:properties> varsa eskiden olduğu gibi ilki kullanılır
+        Map<String, String> properties = new HashMap<>();
+        for (CamundaProperty property : propertiesList.get(0).getCamundaProperties()) {
+            if (property.getCamundaName() != null) {
+                properties.putIfAbsent(property.getCamundaName(), property.getCamundaValue());
+            }
+        }
+        return properties;
+    }
+
+    private CargoStatus parseTargetStatus(String processDefinitionId, String activityId, String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return CargoStatus.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.error("Geçersiz kargo durumu değeri ('{}') BPMN'de tanımlanmış (Activity: {}, PD_ID: {}).", value, activityId, processDefinitionId);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.camunda.bpm.engine.ManagementService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Kargo yaşam döngüsündeki sıcak yolların Micrometer ölçümleri. Zamanlayıcılar başarılı/hatalı ayrımı için
+ * "outcome" etiketiyle kaydedilir; histogram ve yüzdelik ayarları management.metrics.distribution altından yapılır.
+ */
+@Component
+@RequiredArgsConstructor
+public class CargoMetrics {
+
+    public static final String CARGO_CREATION = "cargo.creation";
+    public static final String PROCESS_START = "cargo.process.start";
+    public static final String TASK_COMPLETION = "cargo.task.completion";
+    public static final String TRACKING_LOOKUP = "cargo.tracking.lookup";
+    public static final String SEARCH = "cargo.search";
+    public static final String STATUS_UPDATE = "cargo.status.update";
+    public static final String EMAIL_DISPATCH = "cargo.email.dispatch";
+
+    private static final String STATUS_TRANSITIONS = "cargo.status.transitions";
+    private static final String NO_STATUS = "NONE";
+
+    private final MeterRegistry meterRegistry;
+    private final ManagementService managementService;
+
+    // Son yenilemede sayılan iş birikimi; ölçüm kazıması veritabanına sorgu göndermez
+    private final AtomicLong executableJobs = new AtomicLong();
+
+    @PostConstruct
+    void registerGauges() {
+        // İş yürütücünün bellek kuyruğu executor.queued{name=camundaTaskExecutor} olarak, Hikari havuzu hikaricp.* olarak
+        // Spring Boot tarafından zaten yayınlanır; burada veritabanında çalışmayı bekleyen iş birikimi ölçülür
+        Gauge.builder("cargo.camunda.jobs.executable", executableJobs, AtomicLong::get)
+                .description("Zamanı gelmiş ve yeniden deneme hakkı olan Camunda işi sayısı")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cargo.metrics.job-backlog-refresh-ms:15000}")
+    public void refreshExecutableJobCount() {
+        executableJobs.set(managementService.createJobQuery().executable().count());
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String name, boolean success, String... tags) {
+        sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", success ? "success" : "error")
+                .register(meterRegistry));
+    }
+
+    public <T> T record(String name, Supplier<T> action, String... tags) {
+        Timer.Sample sample = start();
+        boolean success = false;
+        try {
+            T result = action.get();
+            success = true;
+            return result;
+        } finally {
+            stop(sample, name, success, tags);
+        }
+    }
+
+    public void record(String name, Runnable action, String... tags) {
+        record(name, () -> {
+            action.run();
+            return null;
+        }, tags);
+    }
+
+    /** Commit edilmiş durum geçişlerini sayar; yeni oluşturulan kargolar "NONE" kaynaklı geçiş olarak görünür. */
+    public void recordTransition(CargoStatus from, CargoStatus to, int count) {
+        Counter.builder(STATUS_TRANSITIONS)
+                .description("Kargo durum geçişi sayısı")
+                .tag("from", from != null ? from.name() : NO_STATUS)
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .increment(count);
+    }
+}
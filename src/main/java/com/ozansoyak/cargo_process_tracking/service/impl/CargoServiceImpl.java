@@ -1,42 +1,56 @@
 package com.ozansoyak.cargo_process_tracking.service.impl;
 
 import com.ozansoyak.cargo_process_tracking.dto.*;
-import com.ozansoyak.cargo_process_tracking.exception.TrackingNumberGenerationException;
 import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import com.ozansoyak.cargo_process_tracking.model.ShipmentHistory;
 import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.repository.CargoBatchRepository;
 import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
 import com.ozansoyak.cargo_process_tracking.repository.CargoSpecification;
+import com.ozansoyak.cargo_process_tracking.repository.ShipmentHistoryRepository;
 import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import com.ozansoyak.cargo_process_tracking.service.TrackingNumberGenerator;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.camunda.bpm.engine.*;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.batch.BatchStatistics;
+import org.camunda.bpm.engine.batch.history.HistoricBatch;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
-import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
-import org.camunda.bpm.engine.task.IdentityLink;
 import org.camunda.bpm.engine.task.Task;
 import org.camunda.bpm.engine.task.TaskQuery;
-import org.camunda.bpm.model.bpmn.BpmnModelInstance;
-import org.camunda.bpm.model.bpmn.instance.ExtensionElements;
-import org.camunda.bpm.model.bpmn.instance.UserTask;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperties;
-import org.camunda.bpm.model.bpmn.instance.camunda.CamundaProperty;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import java.time.ZoneId;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
@@ -47,33 +61,67 @@ import java.util.ArrayList;
 public class CargoServiceImpl implements CargoService {
 
     private final CargoRepository cargoRepository;
+    private final ShipmentHistoryRepository shipmentHistoryRepository;
     private final RuntimeService runtimeService;
     private final TaskService taskService;
-    private final RepositoryService repositoryService;
     private final HistoryService historyService;
+    private final ManagementService managementService;
+    private final CargoBatchRepository cargoBatchRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final TrackingNumberGenerator trackingNumberGenerator;
+    private final ActiveTaskAssembler activeTaskAssembler;
+    private final CargoStatusCounter cargoStatusCounter;
+    private final RecentActivityBuffer recentActivityBuffer;
+    private final BpmnMetadataCache bpmnMetadataCache;
+    private final TrackingInfoCache trackingInfoCache;
+    private final CargoMetrics cargoMetrics;
+
+    @Value("${cargo.batch.chunk-size:200}")
+    private int batchChunkSize;
+
+    @Value("${cargo.batch.parallelism:4}")
+    private int batchParallelism;
+
+    @Value("${cargo.task-completion.chunk-size:100}")
+    private int taskCompletionChunkSize;
+
+    @Value("${cargo.cancellation.max-size:10000}")
+    private int maxBulkCancellationSize;
+
+    private TransactionTemplate chunkTransactionTemplate;
+    private TransactionTemplate itemTransactionTemplate;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private ExecutorService batchExecutor;
 
     public static final String CAMUNDA_PROCESS_DEFINITION_KEY = "cargoTrackingProcessV3";
-    private static final int MAX_TRACKING_NUMBER_ATTEMPTS = 10;
-    private static final String NEXT_STEP_VARIABLE_PROPERTY_NAME = "nextStepVariable";
+
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("lastUpdatedAt"), Sort.Order.desc("id"));
+    private static final int RECENT_ACTIVITY_LIMIT = 10;
+    private static final int RECENT_ACTIVITY_WARM_UP_SCAN_SIZE = 20;
 
     public static final String PHYSICAL_RECEPTION_TASK_KEY = "userTask_PhysicalReception";
     public static final String INVOICE_CREATION_TASK_KEY = "userTask_InvoiceCreation";
-
-    private static final Set<String> TRACKING_ACTIVITY_IDS = Set.of(
-            "task_UpdateStatusReceived", "task_UpdateStatusLoaded1", "task_UpdateStatusTransferCenter",
-            "task_UpdateStatusLoaded2", "task_UpdateStatusDistributionArea", "task_UpdateStatusOutForDelivery",
-            "task_UpdateStatusDelivered", "task_UpdateStatusCancelled"
-    );
+    // BPMN'deki iptal olay alt sürecinin mesajı ve durum güncelleme aktivitesi
+    private static final String CANCELLATION_MESSAGE_NAME = "CargoCancellationRequested";
+    private static final String CANCELLATION_STATUS_ACTIVITY_ID = "task_UpdateStatusCancelledByMessage";
+    // İptal, aynı süreçte o an çalışan bir servis görevi işiyle çakışırsa yeni bir transaction'da tekrar denenir
+    private static final int CANCELLATION_ATTEMPTS = 3;
 
     @Override
     @Transactional
     public CargoResponse createCargoAndStartProcess(CreateCargoRequest request) {
+        return cargoMetrics.record(CargoMetrics.CARGO_CREATION, () -> createCargo(request), "mode", "single");
+    }
+
+    private CargoResponse createCargo(CreateCargoRequest request) {
         long methodStartTime = System.currentTimeMillis();
         log.info("Yeni kargo oluşturma ve '{}' süreci başlatma isteği. Alıcı: {}", CAMUNDA_PROCESS_DEFINITION_KEY, request.getReceiverName());
 
-        String trackingNumber = generateUniqueTrackingNumber();
+        String trackingNumber = trackingNumberGenerator.nextTrackingNumber();
         log.debug("Takip numarası üretildi: {}", trackingNumber);
 
+        LocalDateTime now = LocalDateTime.now();
         Cargo cargo = Cargo.builder()
                 .trackingNumber(trackingNumber)
                 .senderName(request.getSenderName()).senderAddress(request.getSenderAddress()).senderCity(request.getSenderCity())
@@ -82,36 +130,39 @@ public class CargoServiceImpl implements CargoService {
                 .receiverPhone(request.getReceiverPhone()).receiverEmail(request.getReceiverEmail())
                 .weight(request.getWeight()).dimensions(request.getDimensions()).contentDescription(request.getContentDescription())
                 .currentStatus(CargoStatus.PENDING)
-                .createdAt(LocalDateTime.now())
-                .lastUpdatedAt(LocalDateTime.now())
+                .createdAt(now)
+                .lastUpdatedAt(now)
                 .build();
 
-        Cargo savedCargo = cargoRepository.save(cargo);
-        log.debug("Kargo veritabanına ilk kez kaydedildi (ID: {}).", savedCargo.getId());
+        // Id süreçten önce ayrılır; satır süreç örneği id'siyle birlikte tek insert olarak yazılır
+        cargoBatchRepository.assignIds(List.of(cargo));
+        log.debug("Kargo için ID ayrıldı: {}.", cargo.getId());
 
         Map<String, Object> processVariables = new HashMap<>();
-        processVariables.put("cargoId", savedCargo.getId());
-        processVariables.put("trackingNumber", savedCargo.getTrackingNumber());
+        processVariables.put("cargoId", cargo.getId());
+        processVariables.put("trackingNumber", cargo.getTrackingNumber());
         processVariables.put("isCancelled", false);
 
         ProcessInstance processInstance;
         try {
-            processInstance = runtimeService.startProcessInstanceByKey(CAMUNDA_PROCESS_DEFINITION_KEY, savedCargo.getTrackingNumber(), processVariables);
+            processInstance = cargoMetrics.record(CargoMetrics.PROCESS_START,
+                    () -> runtimeService.startProcessInstanceByKey(CAMUNDA_PROCESS_DEFINITION_KEY, cargo.getTrackingNumber(), processVariables));
             log.info("Camunda süreci başlatıldı. PI_ID: {}, BusinessKey: {}.",
-                    processInstance.getProcessInstanceId(), savedCargo.getTrackingNumber());
+                    processInstance.getProcessInstanceId(), cargo.getTrackingNumber());
         } catch (Exception e) {
             log.error("Camunda süreci başlatılamadı (key={}): {}", CAMUNDA_PROCESS_DEFINITION_KEY, e.getMessage(), e);
             throw new RuntimeException("Kargo için Camunda süreci başlatılamadı: " + e.getMessage(), e);
         }
 
-        savedCargo.setProcessInstanceId(processInstance.getProcessInstanceId());
-        cargoRepository.save(savedCargo);
-        log.debug("Kargo, süreç ID'si ({}) ile veritabanına güncellendi.", processInstance.getProcessInstanceId());
+        cargo.setProcessInstanceId(processInstance.getProcessInstanceId());
+        cargoBatchRepository.insertAll(List.of(cargo));
+        cargoStatusCounter.recordCreated(CargoStatus.PENDING, 1);
+        log.debug("Kargo, süreç ID'si ({}) ile veritabanına kaydedildi (ID: {}).", processInstance.getProcessInstanceId(), cargo.getId());
 
         CargoResponse responseDto = new CargoResponse(
-                savedCargo.getId(),
-                savedCargo.getTrackingNumber(),
-                savedCargo.getCurrentStatus().name(),
+                cargo.getId(),
+                cargo.getTrackingNumber(),
+                cargo.getCurrentStatus().name(),
                 processInstance.getProcessInstanceId()
         );
         log.info("Kargo oluşturma ve süreç başlatma tamamlandı. Toplam Süre: {} ms. Takip No: {}",
@@ -119,10 +170,160 @@ public class CargoServiceImpl implements CargoService {
         return responseDto;
     }
 
+    @PostConstruct
+    void initBatchSupport() {
+        chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        itemTransactionTemplate = new TransactionTemplate(transactionManager);
+        itemTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        AtomicInteger threadCounter = new AtomicInteger();
+        batchExecutor = Executors.newFixedThreadPool(Math.max(1, batchParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "cargo-batch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdownBatchSupport() {
+        batchExecutor.shutdown();
+    }
+
+    @Override
+    public BatchCargoResponse createCargosInBatch(List<CreateCargoRequest> requests) {
+        return cargoMetrics.record(CargoMetrics.CARGO_CREATION, () -> createCargos(requests), "mode", "batch");
+    }
+
+    private BatchCargoResponse createCargos(List<CreateCargoRequest> requests) {
+        long methodStartTime = System.currentTimeMillis();
+        log.info("Toplu kargo oluşturma isteği. Kayıt sayısı: {}, chunk boyutu: {}", requests.size(), batchChunkSize);
+
+        BatchCargoItemResult[] results = new BatchCargoItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateCargoRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = failedBatchItem(i, "Kayıt boş olamaz.");
+                continue;
+            }
+            Set<ConstraintViolation<CreateCargoRequest>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = failedBatchItem(i, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+
+        int chunkSize = Math.max(1, batchChunkSize);
+        List<CompletableFuture<Void>> chunkFutures = new ArrayList<>();
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            chunkFutures.add(CompletableFuture.runAsync(() -> processBatchChunk(chunk, requests, results), batchExecutor));
+        }
+        CompletableFuture.allOf(chunkFutures.toArray(new CompletableFuture[0])).join();
+
+        List<BatchCargoItemResult> items = Arrays.asList(results);
+        int successCount = (int) items.stream().filter(BatchCargoItemResult::isSuccess).count();
+        log.info("Toplu kargo oluşturma tamamlandı. Başarılı: {}, Hatalı: {}. Toplam Süre: {} ms",
+                successCount, items.size() - successCount, (System.currentTimeMillis() - methodStartTime));
+        return BatchCargoResponse.builder()
+                .totalCount(items.size())
+                .successCount(successCount)
+                .failureCount(items.size() - successCount)
+                .items(items)
+                .build();
+    }
+
+    private void processBatchChunk(List<Integer> indexes, List<CreateCargoRequest> requests, BatchCargoItemResult[] results) {
+        try {
+            List<BatchCargoItemResult> chunkResults = chunkTransactionTemplate.execute(status -> persistAndStartBatchChunk(indexes, requests));
+            for (BatchCargoItemResult itemResult : chunkResults) {
+                results[itemResult.getIndex()] = itemResult;
+            }
+        } catch (Exception chunkException) {
+            // Chunk geri alındı; hatalı kaydı ayırmak için kayıtlar tek tek, kendi transaction'larında yeniden denenir.
+            log.warn("Toplu kargo chunk'ı ({} kayıt) başarısız oldu, kayıtlar tek tek deneniyor: {}", indexes.size(), chunkException.getMessage());
+            for (Integer index : indexes) {
+                try {
+                    results[index] = itemTransactionTemplate.execute(status -> persistAndStartBatchChunk(List.of(index), requests)).get(0);
+                } catch (Exception itemException) {
+                    log.error("Toplu kargo kaydı (sıra: {}) oluşturulamadı: {}", index, itemException.getMessage());
+                    results[index] = failedBatchItem(index, "Kargo oluşturulamadı: " + itemException.getMessage());
+                }
+            }
+        }
+    }
+
+    private List<BatchCargoItemResult> persistAndStartBatchChunk(List<Integer> indexes, List<CreateCargoRequest> requests) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Cargo> cargos = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            CreateCargoRequest request = requests.get(index);
+            cargos.add(Cargo.builder()
+                    .trackingNumber(trackingNumberGenerator.nextTrackingNumber())
+                    .senderName(request.getSenderName()).senderAddress(request.getSenderAddress()).senderCity(request.getSenderCity())
+                    .senderPhone(request.getSenderPhone()).senderEmail(request.getSenderEmail())
+                    .receiverName(request.getReceiverName()).receiverAddress(request.getReceiverAddress()).receiverCity(request.getReceiverCity())
+                    .receiverPhone(request.getReceiverPhone()).receiverEmail(request.getReceiverEmail())
+                    .weight(request.getWeight()).dimensions(request.getDimensions()).contentDescription(request.getContentDescription())
+                    .currentStatus(CargoStatus.PENDING)
+                    .createdAt(now)
+                    .lastUpdatedAt(now)
+                    .build());
+        }
+        cargoBatchRepository.assignIds(cargos);
+
+        for (Cargo cargo : cargos) {
+            Map<String, Object> processVariables = new HashMap<>();
+            processVariables.put("cargoId", cargo.getId());
+            processVariables.put("trackingNumber", cargo.getTrackingNumber());
+            processVariables.put("isCancelled", false);
+            ProcessInstance processInstance = cargoMetrics.record(CargoMetrics.PROCESS_START,
+                    () -> runtimeService.startProcessInstanceByKey(CAMUNDA_PROCESS_DEFINITION_KEY, cargo.getTrackingNumber(), processVariables));
+            cargo.setProcessInstanceId(processInstance.getProcessInstanceId());
+        }
+        cargoBatchRepository.insertAll(cargos);
+        cargoStatusCounter.recordCreated(CargoStatus.PENDING, cargos.size());
+
+        List<BatchCargoItemResult> chunkResults = new ArrayList<>(cargos.size());
+        for (int i = 0; i < cargos.size(); i++) {
+            Cargo cargo = cargos.get(i);
+            chunkResults.add(BatchCargoItemResult.builder()
+                    .index(indexes.get(i)).success(true)
+                    .id(cargo.getId()).trackingNumber(cargo.getTrackingNumber())
+                    .processInstanceId(cargo.getProcessInstanceId())
+                    .build());
+        }
+        return chunkResults;
+    }
+
+    private BatchCargoItemResult failedBatchItem(int index, String message) {
+        return BatchCargoItemResult.builder().index(index).success(false).message(message).build();
+    }
+
     @Override
-    @Transactional
     public void cancelCargoProcess(String trackingNumber) {
         log.info("{} takip numaralı kargo için iptal işlemi başlatıldı.", trackingNumber);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                itemTransactionTemplate.executeWithoutResult(status -> cancelCargoProcessInTransaction(trackingNumber));
+                return;
+            } catch (OptimisticLockingException e) {
+                if (attempt >= CANCELLATION_ATTEMPTS) {
+                    log.error("Kargo iptali {} denemede tamamlanamadı (Takip No: {}): {}", attempt, trackingNumber, e.getMessage(), e);
+                    throw new RuntimeException("Süreç iptal edilirken bir hata oluştu: " + e.getMessage(), e);
+                }
+                log.info("{} takip numaralı kargonun süreci iptal sırasında eşzamanlı güncellendi, iptal tekrar deneniyor ({}. deneme).",
+                        trackingNumber, attempt + 1);
+            }
+        }
+    }
+
+    private void cancelCargoProcessInTransaction(String trackingNumber) {
         Cargo cargo = cargoRepository.findByTrackingNumber(trackingNumber)
                 .orElseThrow(() -> new EntityNotFoundException("Takip numarası ile kargo bulunamadı: " + trackingNumber));
 
@@ -132,38 +333,171 @@ public class CargoServiceImpl implements CargoService {
         }
 
         String processInstanceId = cargo.getProcessInstanceId();
+        trackingInfoCache.invalidateAfterCommit(trackingNumber);
         try {
-            runtimeService.setVariable(processInstanceId, "isCancelled", true);
-            log.info("Camunda süreci (ID: {}) için 'isCancelled' değişkeni 'true' olarak ayarlandı.", processInstanceId);
-
-            List<Task> activeTasks = taskService.createTaskQuery().processInstanceId(processInstanceId).active().list();
-            if (!activeTasks.isEmpty()) {
-                for (Task activeTask : activeTasks) {
-                    log.info("Süreç iptali için aktif görev (Task ID: {}, Key: {}) programatik olarak tamamlanıyor.", activeTask.getId(), activeTask.getTaskDefinitionKey());
-                    try {
-                        taskService.complete(activeTask.getId());
-                        log.info("Aktif görev (Task ID: {}) iptal nedeniyle başarıyla tamamlandı.", activeTask.getId());
-                    } catch (ProcessEngineException e) {
-                        log.error("İptal sırasında aktif görev (Task ID: {}) tamamlanırken hata: {}", activeTask.getId(), e.getMessage(), e);
-                    }
-                }
-            } else {
-                log.info("İptal sırasında tamamlanacak aktif kullanıcı görevi bulunamadı (PI_ID: {}).", processInstanceId);
-            }
-        } catch (org.camunda.bpm.engine.exception.NullValueException | org.camunda.bpm.engine.exception.NotFoundException e){
-            log.warn("İptal işlemi: Aktif Camunda süreci bulunamadı (ID: {}). Muhtemelen süreç zaten bitmiş/bulunamıyor.", processInstanceId);
-            if (cargo.getCurrentStatus() != CargoStatus.CANCELLED && cargo.getCurrentStatus() != CargoStatus.DELIVERED) {
+            ProcessInstance processInstance = StringUtils.hasText(processInstanceId)
+                    ? runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult() : null;
+            if (processInstance == null) {
+                log.warn("İptal işlemi: Aktif Camunda süreci bulunamadı (ID: {}). Muhtemelen süreç zaten bitmiş/bulunamıyor.", processInstanceId);
+                cargoStatusCounter.recordTransition(cargo.getCurrentStatus(), CargoStatus.CANCELLED);
                 cargo.setCurrentStatus(CargoStatus.CANCELLED);
                 cargo.setLastUpdatedAt(LocalDateTime.now());
                 cargoRepository.save(cargo);
                 log.info("Süreç bulunamadığı/bitmiş olduğu için kargo (ID:{}) durumu manuel CANCELLED yapıldı.", cargo.getId());
+                return;
             }
+            if (bpmnMetadataCache.get(processInstance.getProcessDefinitionId(), CANCELLATION_STATUS_ACTIVITY_ID) != null) {
+                // İptal olay alt süreci süreci hangi adımda olursa olsun keser; bekleyen servis görevi işi de silinir
+                runtimeService.createMessageCorrelation(CANCELLATION_MESSAGE_NAME)
+                        .processInstanceId(processInstanceId)
+                        .setVariable("isCancelled", true)
+                        .correlateWithResult();
+                log.info("Camunda süreci (ID: {}) için '{}' mesajı iletildi.", processInstanceId, CANCELLATION_MESSAGE_NAME);
+            } else {
+                cancelByCompletingActiveTasks(processInstanceId);
+            }
+        } catch (OptimisticLockingException e) {
+            throw e;
         } catch (ProcessEngineException e) {
             log.error("Kargo iptali sırasında Camunda hatası (Takip No: {}): {}", trackingNumber, e.getMessage(), e);
             throw new RuntimeException("Süreç iptal edilirken bir hata oluştu: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * İptal olay alt sürecini içermeyen eski süreç tanımları için: iptal değişkeni ayarlanır ve aktif kullanıcı
+     * görevi tamamlanarak süreç iptal geçidine yönlendirilir.
+     */
+    private void cancelByCompletingActiveTasks(String processInstanceId) {
+        runtimeService.setVariable(processInstanceId, "isCancelled", true);
+        log.info("Camunda süreci (ID: {}) için 'isCancelled' değişkeni 'true' olarak ayarlandı.", processInstanceId);
+
+        List<Task> activeTasks = taskService.createTaskQuery().processInstanceId(processInstanceId).active().list();
+        if (activeTasks.isEmpty()) {
+            log.info("İptal sırasında tamamlanacak aktif kullanıcı görevi bulunamadı (PI_ID: {}); süreç bir sonraki iptal kontrolünde sonlanacak.", processInstanceId);
+            return;
+        }
+        for (Task activeTask : activeTasks) {
+            log.info("Süreç iptali için aktif görev (Task ID: {}, Key: {}) programatik olarak tamamlanıyor.", activeTask.getId(), activeTask.getTaskDefinitionKey());
+            try {
+                taskService.complete(activeTask.getId());
+                log.info("Aktif görev (Task ID: {}) iptal nedeniyle başarıyla tamamlandı.", activeTask.getId());
+            } catch (ProcessEngineException e) {
+                log.error("İptal sırasında aktif görev (Task ID: {}) tamamlanırken hata: {}", activeTask.getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public BulkCancellationResponse cancelCargoProcessesInBulk(List<String> trackingNumbers, CargoSearchCriteria criteria) {
+        List<BulkCancellationSkippedItem> skippedItems = new ArrayList<>();
+        List<Cargo> cargos;
+        int requestedCount;
+        if (trackingNumbers != null && !trackingNumbers.isEmpty()) {
+            Set<String> distinctTrackingNumbers = trackingNumbers.stream()
+                    .filter(StringUtils::hasText)
+                    .map(String::trim)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (distinctTrackingNumbers.size() > maxBulkCancellationSize) {
+                throw new IllegalArgumentException("Tek istekte en fazla " + maxBulkCancellationSize + " kargo iptal edilebilir.");
+            }
+            requestedCount = distinctTrackingNumbers.size();
+            cargos = distinctTrackingNumbers.isEmpty() ? List.of() : cargoRepository.findByTrackingNumberIn(distinctTrackingNumbers);
+            Set<String> foundTrackingNumbers = cargos.stream().map(Cargo::getTrackingNumber).collect(Collectors.toSet());
+            distinctTrackingNumbers.stream()
+                    .filter(trackingNumber -> !foundTrackingNumbers.contains(trackingNumber))
+                    .forEach(trackingNumber -> skippedItems.add(new BulkCancellationSkippedItem(trackingNumber, "Takip numarası ile kargo bulunamadı.")));
+        } else {
+            if (criteria == null || (!StringUtils.hasText(criteria.getTrackingNo()) && !StringUtils.hasText(criteria.getCustomerInfo())
+                    && !StringUtils.hasText(criteria.getStatusFilter()))) {
+                throw new IllegalArgumentException("Toplu iptal için takip numarası listesi ya da en az bir arama kriteri verilmelidir.");
+            }
+            Specification<Cargo> spec = CargoSpecification.findByCriteria(criteria).and(CargoSpecification.cancellable());
+            cargos = cargoRepository.findBy(spec, query -> query.limit(maxBulkCancellationSize + 1).all());
+            if (cargos.size() > maxBulkCancellationSize) {
+                throw new IllegalArgumentException("Kritere uyan kargo sayısı tek istekte iptal edilebilecek " + maxBulkCancellationSize + " sınırını aşıyor.");
+            }
+            requestedCount = cargos.size();
+        }
+
+        List<Cargo> cancellable = new ArrayList<>();
+        for (Cargo cargo : cargos) {
+            if (cargo.getCurrentStatus() == CargoStatus.CANCELLED || cargo.getCurrentStatus() == CargoStatus.DELIVERED) {
+                skippedItems.add(new BulkCancellationSkippedItem(cargo.getTrackingNumber(), "Kargo zaten " + cargo.getCurrentStatus() + " durumunda, iptal edilemez."));
+            } else if (!StringUtils.hasText(cargo.getProcessInstanceId())) {
+                skippedItems.add(new BulkCancellationSkippedItem(cargo.getTrackingNumber(), "Kargoya bağlı Camunda süreci yok."));
+            } else {
+                cancellable.add(cargo);
+            }
+        }
+
+        // İptal mesajını yalnızca hâlâ çalışan ve iptal olay alt sürecini içeren süreç tanımlarındaki süreçler alabilir
+        Map<String, String> processDefinitionIdByInstanceId = cancellable.isEmpty() ? Map.of()
+                : runtimeService.createProcessInstanceQuery()
+                .processInstanceIds(cancellable.stream().map(Cargo::getProcessInstanceId).collect(Collectors.toSet()))
+                .list().stream()
+                .collect(Collectors.toMap(ProcessInstance::getId, ProcessInstance::getProcessDefinitionId));
+        List<String> acceptedProcessInstanceIds = new ArrayList<>();
+        for (Cargo cargo : cancellable) {
+            String processDefinitionId = processDefinitionIdByInstanceId.get(cargo.getProcessInstanceId());
+            if (processDefinitionId == null) {
+                skippedItems.add(new BulkCancellationSkippedItem(cargo.getTrackingNumber(), "Aktif Camunda süreci bulunamadı."));
+            } else if (bpmnMetadataCache.get(processDefinitionId, CANCELLATION_STATUS_ACTIVITY_ID) == null) {
+                skippedItems.add(new BulkCancellationSkippedItem(cargo.getTrackingNumber(),
+                        "Süreç tanımı (" + processDefinitionId + ") toplu iptali desteklemiyor; tekil iptal kullanılmalı."));
+            } else {
+                acceptedProcessInstanceIds.add(cargo.getProcessInstanceId());
+            }
+        }
+
+        String batchId = null;
+        if (!acceptedProcessInstanceIds.isEmpty()) {
+            Batch batch = runtimeService.createMessageCorrelationAsync(CANCELLATION_MESSAGE_NAME)
+                    .processInstanceIds(acceptedProcessInstanceIds)
+                    .setVariable("isCancelled", true)
+                    .correlateAllAsync();
+            batchId = batch.getId();
+        }
+        log.info("Toplu iptal isteği: {} kargo istendi, {} süreç için iptal batch'i ({}) oluşturuldu, {} kargo atlandı.",
+                requestedCount, acceptedProcessInstanceIds.size(), batchId, skippedItems.size());
+        return BulkCancellationResponse.builder()
+                .batchId(batchId)
+                .requestedCount(requestedCount)
+                .acceptedCount(acceptedProcessInstanceIds.size())
+                .skippedItems(skippedItems)
+                .build();
+    }
+
+    @Override
+    public BulkCancellationProgress getBulkCancellationProgress(String batchId) {
+        BatchStatistics statistics = managementService.createBatchStatisticsQuery().batchId(batchId).singleResult();
+        if (statistics != null) {
+            return BulkCancellationProgress.builder()
+                    .batchId(batchId)
+                    .totalJobs(statistics.getTotalJobs())
+                    .completedJobs(statistics.getCompletedJobs())
+                    .failedJobs(statistics.getFailedJobs())
+                    .remainingJobs(statistics.getRemainingJobs())
+                    .finished(false)
+                    .startTime(convertDateToLocalDateTime(statistics.getStartTime()))
+                    .build();
+        }
+        // Tamamlanan batch'ler çalışma zamanı tablolarından silinir; sonucu geçmişten okunur
+        HistoricBatch historicBatch = historyService.createHistoricBatchQuery().batchId(batchId).singleResult();
+        if (historicBatch == null) {
+            throw new EntityNotFoundException("Toplu iptal batch'i bulunamadı: " + batchId);
+        }
+        return BulkCancellationProgress.builder()
+                .batchId(batchId)
+                .totalJobs(historicBatch.getTotalJobs())
+                .completedJobs(historicBatch.getEndTime() != null ? historicBatch.getTotalJobs() : 0)
+                .remainingJobs(historicBatch.getEndTime() != null ? 0 : historicBatch.getTotalJobs())
+                .finished(historicBatch.getEndTime() != null)
+                .startTime(convertDateToLocalDateTime(historicBatch.getStartTime()))
+                .endTime(convertDateToLocalDateTime(historicBatch.getEndTime()))
+                .build();
+    }
+
     @Override
     @Transactional
     public TaskCompletionResponse completeUserTaskAndPrepareNextStep(String trackingNumber, String taskDefinitionKeyToComplete, Map<String, Object> taskVariables) {
@@ -202,7 +536,7 @@ public class CargoServiceImpl implements CargoService {
         log.info("Tamamlanacak aktif görev bulundu: Task ID: {}, Task Key: {}, Process Definition ID: {}", taskId, actualTaskDefinitionKey, processDefinitionId);
 
         Map<String, Object> variablesToSetForNextStep = new HashMap<>();
-        String nextStepVarNameFromBpmn = getNextStepVariableFromBpmn(processDefinitionId, actualTaskDefinitionKey);
+        String nextStepVarNameFromBpmn = bpmnMetadataCache.getNextStepVariable(processDefinitionId, actualTaskDefinitionKey);
         if (StringUtils.hasText(nextStepVarNameFromBpmn)) {
             variablesToSetForNextStep.put(nextStepVarNameFromBpmn, true);
             log.info("Süreç (ID: {}) için '{}' değişkeni 'true' olarak görevle birlikte ayarlanacak.", processInstanceId, nextStepVarNameFromBpmn);
@@ -219,13 +553,11 @@ public class CargoServiceImpl implements CargoService {
 
         try {
             long startTime = System.currentTimeMillis();
-            if (variablesToCompleteTaskWith.isEmpty()) {
-                taskService.complete(taskId);
-            } else {
-                taskService.complete(taskId, variablesToCompleteTaskWith);
-            }
+            cargoMetrics.record(CargoMetrics.TASK_COMPLETION, () -> taskService.complete(taskId, variablesToCompleteTaskWith),
+                    "task", actualTaskDefinitionKey);
             cargo.setLastUpdatedAt(LocalDateTime.now());
             cargoRepository.save(cargo);
+            trackingInfoCache.invalidateAfterCommit(cargo.getTrackingNumber());
             log.info("Aktif görev (Task ID: {}) başarıyla tamamlandı. Kullanılan değişkenler: {}. Süre: {}ms", taskId, variablesToCompleteTaskWith.keySet(), (System.currentTimeMillis() - startTime));
         } catch (ProcessEngineException e){
             log.error("Görev (Task ID: {}) tamamlanırken Camunda hatası: {}", taskId, e.getMessage(), e);
@@ -240,34 +572,134 @@ public class CargoServiceImpl implements CargoService {
         );
     }
 
-    private String getNextStepVariableFromBpmn(String processDefinitionId, String taskDefinitionKey) {
+    @Override
+    public BulkTaskCompletionResponse completeTasksInBulk(String taskDefinitionKey, List<String> trackingNumbers, Map<String, Object> taskVariables) {
+        long methodStartTime = System.currentTimeMillis();
+        log.info("Toplu görev tamamlama isteği. Görev: '{}', kayıt sayısı: {}, chunk boyutu: {}", taskDefinitionKey, trackingNumbers.size(), taskCompletionChunkSize);
+
+        BulkTaskCompletionItemResult[] results = new BulkTaskCompletionItemResult[trackingNumbers.size()];
+        Map<String, Integer> indexByTrackingNumber = new LinkedHashMap<>();
+        for (int i = 0; i < trackingNumbers.size(); i++) {
+            String trackingNumber = trackingNumbers.get(i) != null ? trackingNumbers.get(i).trim() : "";
+            if (trackingNumber.isEmpty()) {
+                results[i] = failedBulkItem(i, trackingNumber, "Takip numarası boş olamaz.");
+            } else if (indexByTrackingNumber.putIfAbsent(trackingNumber, i) != null) {
+                results[i] = failedBulkItem(i, trackingNumber, "Takip numarası istekte birden fazla kez geçiyor.");
+            }
+        }
+
+        // Kargolar ve görevler parsel başına değil, istek başına birer sorguyla çözülür
+        Map<String, Cargo> cargoByTrackingNumber = indexByTrackingNumber.isEmpty() ? Map.of()
+                : cargoRepository.findByTrackingNumberIn(indexByTrackingNumber.keySet()).stream()
+                .collect(Collectors.toMap(Cargo::getTrackingNumber, Function.identity()));
+        String[] processInstanceIds = cargoByTrackingNumber.values().stream()
+                .map(Cargo::getProcessInstanceId)
+                .filter(StringUtils::hasText)
+                .toArray(String[]::new);
+        Map<String, Task> taskByProcessInstanceId = new HashMap<>();
+        if (processInstanceIds.length > 0) {
+            for (Task task : taskService.createTaskQuery().taskDefinitionKey(taskDefinitionKey).processInstanceIdIn(processInstanceIds).active().list()) {
+                if (taskByProcessInstanceId.putIfAbsent(task.getProcessInstanceId(), task) != null) {
+                    log.warn("PI_ID {} için '{}' anahtarlı birden fazla aktif görev bulundu. İlki kullanılacak.", task.getProcessInstanceId(), taskDefinitionKey);
+                }
+            }
+        }
+
+        List<BulkCompletionItem> completable = new ArrayList<>();
+        indexByTrackingNumber.forEach((trackingNumber, index) -> {
+            Cargo cargo = cargoByTrackingNumber.get(trackingNumber);
+            Task task = cargo != null ? taskByProcessInstanceId.get(cargo.getProcessInstanceId()) : null;
+            if (cargo == null) {
+                results[index] = failedBulkItem(index, trackingNumber, "Takip numarası ile kargo bulunamadı.");
+            } else if (task == null) {
+                results[index] = failedBulkItem(index, trackingNumber, "Bu kargo için '" + taskDefinitionKey + "' anahtarlı tamamlanacak aktif görev bulunamadı.");
+            } else {
+                completable.add(new BulkCompletionItem(index, cargo, task));
+            }
+        });
+
+        int chunkSize = Math.max(1, taskCompletionChunkSize);
+        List<CompletableFuture<Void>> chunkFutures = new ArrayList<>();
+        for (int from = 0; from < completable.size(); from += chunkSize) {
+            List<BulkCompletionItem> chunk = completable.subList(from, Math.min(from + chunkSize, completable.size()));
+            chunkFutures.add(CompletableFuture.runAsync(() -> processBulkCompletionChunk(chunk, taskVariables, results), batchExecutor));
+        }
+        CompletableFuture.allOf(chunkFutures.toArray(new CompletableFuture[0])).join();
+
+        List<BulkTaskCompletionItemResult> items = Arrays.asList(results);
+        int successCount = (int) items.stream().filter(BulkTaskCompletionItemResult::isSuccess).count();
+        log.info("Toplu görev tamamlama bitti. Görev: '{}', Başarılı: {}, Hatalı: {}. Toplam Süre: {} ms",
+                taskDefinitionKey, successCount, items.size() - successCount, (System.currentTimeMillis() - methodStartTime));
+        return BulkTaskCompletionResponse.builder()
+                .taskDefinitionKey(taskDefinitionKey)
+                .totalCount(items.size())
+                .successCount(successCount)
+                .failureCount(items.size() - successCount)
+                .items(items)
+                .build();
+    }
+
+    private record BulkCompletionItem(int index, Cargo cargo, Task task) {
+    }
+
+    private void processBulkCompletionChunk(List<BulkCompletionItem> chunk, Map<String, Object> taskVariables, BulkTaskCompletionItemResult[] results) {
         try {
-            BpmnModelInstance modelInstance = repositoryService.getBpmnModelInstance(processDefinitionId);
-            if (modelInstance == null) { log.error("BPMN modeli bulunamadı: {}", processDefinitionId); return null; }
-            UserTask userTaskElement = modelInstance.getModelElementById(taskDefinitionKey);
-            if (userTaskElement == null) { log.error("BPMN'de görev tanımı bulunamadı: {} (PD_ID: {})", taskDefinitionKey, processDefinitionId); return null; }
-            ExtensionElements extensionElements = userTaskElement.getExtensionElements();
-            if (extensionElements != null) {
-                List<CamundaProperties> propertiesList = extensionElements.getElementsQuery().filterByType(CamundaProperties.class).list();
-                if (!propertiesList.isEmpty()) {
-                    CamundaProperties camundaProperties = propertiesList.get(0);
-                    Optional<CamundaProperty> nextStepProp = camundaProperties.getCamundaProperties().stream()
-                            .filter(prop -> NEXT_STEP_VARIABLE_PROPERTY_NAME.equals(prop.getCamundaName())).findFirst();
-                    if (nextStepProp.isPresent() && StringUtils.hasText(nextStepProp.get().getCamundaValue())) {
-                        return nextStepProp.get().getCamundaValue();
-                    }
+            List<BulkTaskCompletionItemResult> chunkResults = chunkTransactionTemplate.execute(status -> completeBulkChunk(chunk, taskVariables));
+            for (BulkTaskCompletionItemResult itemResult : chunkResults) {
+                results[itemResult.getIndex()] = itemResult;
+            }
+        } catch (Exception chunkException) {
+            // Chunk geri alındı; hatalı görevi ayırmak için görevler tek tek, kendi transaction'larında yeniden denenir.
+            log.warn("Toplu görev tamamlama chunk'ı ({} görev) başarısız oldu, görevler tek tek deneniyor: {}", chunk.size(), chunkException.getMessage());
+            for (BulkCompletionItem item : chunk) {
+                try {
+                    results[item.index()] = itemTransactionTemplate.execute(status -> completeBulkChunk(List.of(item), taskVariables)).get(0);
+                } catch (Exception itemException) {
+                    log.error("Görev (Task ID: {}, Takip No: {}) tamamlanamadı: {}", item.task().getId(), item.cargo().getTrackingNumber(), itemException.getMessage());
+                    results[item.index()] = failedBulkItem(item.index(), item.cargo().getTrackingNumber(), "Görev tamamlanamadı: " + itemException.getMessage());
                 }
             }
-        } catch (Exception e) {
-            log.error("BPMN modelinden '{}' property okunurken hata (Task Key: {}, PD_ID: {}): {}",
-                    NEXT_STEP_VARIABLE_PROPERTY_NAME, taskDefinitionKey, processDefinitionId, e.getMessage(), e);
         }
-        return null;
+    }
+
+    private List<BulkTaskCompletionItemResult> completeBulkChunk(List<BulkCompletionItem> chunk, Map<String, Object> taskVariables) {
+        List<BulkTaskCompletionItemResult> chunkResults = new ArrayList<>(chunk.size());
+        for (BulkCompletionItem item : chunk) {
+            Task task = item.task();
+            Map<String, Object> variables = new HashMap<>();
+            String nextStepVarNameFromBpmn = bpmnMetadataCache.getNextStepVariable(task.getProcessDefinitionId(), task.getTaskDefinitionKey());
+            if (StringUtils.hasText(nextStepVarNameFromBpmn)) {
+                variables.put(nextStepVarNameFromBpmn, true);
+            }
+            if (taskVariables != null) {
+                variables.putAll(taskVariables);
+            }
+            if (INVOICE_CREATION_TASK_KEY.equals(task.getTaskDefinitionKey())) {
+                variables.putIfAbsent("invoiceGenerated", true);
+            }
+            cargoMetrics.record(CargoMetrics.TASK_COMPLETION, () -> taskService.complete(task.getId(), variables),
+                    "task", task.getTaskDefinitionKey());
+            trackingInfoCache.invalidateAfterCommit(item.cargo().getTrackingNumber());
+            chunkResults.add(BulkTaskCompletionItemResult.builder()
+                    .index(item.index()).trackingNumber(item.cargo().getTrackingNumber())
+                    .success(true).taskId(task.getId())
+                    .build());
+        }
+        cargoRepository.updateLastUpdatedAt(chunk.stream().map(item -> item.cargo().getId()).toList(), LocalDateTime.now());
+        return chunkResults;
+    }
+
+    private BulkTaskCompletionItemResult failedBulkItem(int index, String trackingNumber, String message) {
+        return BulkTaskCompletionItemResult.builder().index(index).trackingNumber(trackingNumber).success(false).message(message).build();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public TrackingInfoResponse getTrackingInfo(String trackingNumber) {
+        return cargoMetrics.record(CargoMetrics.TRACKING_LOOKUP, () -> trackingInfoCache.get(trackingNumber,
+                key -> readOnlyTransactionTemplate.execute(status -> loadTrackingInfo(key))));
+    }
+
+    private TrackingInfoResponse loadTrackingInfo(String trackingNumber) {
         log.info("Takip numarası '{}' için kargo bilgisi (detaylı) sorgulanıyor.", trackingNumber);
         Cargo cargo = cargoRepository.findByTrackingNumber(trackingNumber)
                 .orElseThrow(() -> new EntityNotFoundException("Takip numarası ile kargo bulunamadı: " + trackingNumber));
@@ -327,8 +759,8 @@ public class CargoServiceImpl implements CargoService {
 
         return TrackingInfoResponse.builder()
                 .trackingNumber(cargo.getTrackingNumber())
-                .currentStatus(getStatusDisplayName(cargo.getCurrentStatus()))
-                .currentStatusBadgeClass(getStatusBadgeClass(cargo.getCurrentStatus()))
+                .currentStatus(CargoStatusPresentation.of(cargo.getCurrentStatus()).displayName())
+                .currentStatusBadgeClass(CargoStatusPresentation.of(cargo.getCurrentStatus()).badgeClass())
                 .senderCity(cargo.getSenderCity()).receiverCity(cargo.getReceiverCity())
                 .processInstanceId(cargo.getProcessInstanceId()).historyEvents(historyEvents).found(true)
                 .senderName(cargo.getSenderName()).receiverName(cargo.getReceiverName())
@@ -341,6 +773,21 @@ public class CargoServiceImpl implements CargoService {
     }
 
     private List<TrackingHistoryEvent> getCargoHistory(Cargo cargo) {
+        List<ShipmentHistory> events = shipmentHistoryRepository.findByCargoIdOrderByOccurredAtAscIdAsc(cargo.getId());
+        if (events.isEmpty()) {
+            // Henüz geçmiş tablosuna aktarılmamış eski kargolar için Camunda geçmişine dönülür
+            return getCargoHistoryFromCamunda(cargo);
+        }
+        return events.stream()
+                .map(event -> {
+                    CargoStatusPresentation presentation = CargoStatusPresentation.of(event.getStatus());
+                    return new TrackingHistoryEvent(event.getOccurredAt(), presentation.displayName(),
+                            presentation.badgeClass(), presentation.location());
+                })
+                .collect(Collectors.toList());
+    }
+
+    private List<TrackingHistoryEvent> getCargoHistoryFromCamunda(Cargo cargo) {
         if (!StringUtils.hasText(cargo.getProcessInstanceId())) {
             log.warn("Takip numarası '{}' için süreç ID'si bulunamadığından geçmiş bilgisi alınamadı.", cargo.getTrackingNumber());
             return List.of();
@@ -351,18 +798,15 @@ public class CargoServiceImpl implements CargoService {
                     .activityType("serviceTask")
                     .orderByHistoricActivityInstanceStartTime().asc()
                     .list();
-            return activityInstances.stream()
-                    .filter(activity -> TRACKING_ACTIVITY_IDS.contains(activity.getActivityId()))
-                    .map(activity -> {
-                        String activityName = StringUtils.hasText(activity.getActivityName()) ? activity.getActivityName() : "Bilinmeyen Aktivite";
-                        String statusDesc = extractStatusFromActivityName(activityName);
-                        String location = extractLocationFromActivityName(activityName);
-                        LocalDateTime timestamp = convertDateToLocalDateTime(activity.getStartTime());
-                        CargoStatus statusEnum = findStatusByActivityName(activityName);
-                        String badgeClass = getStatusBadgeClass(statusEnum);
-                        return new TrackingHistoryEvent(timestamp, statusDesc, badgeClass, location);
-                    })
-                    .collect(Collectors.toList());
+            List<TrackingHistoryEvent> historyEvents = new ArrayList<>(activityInstances.size());
+            for (HistoricActivityInstance activity : activityInstances) {
+                BpmnMetadataCache.ActivityMetadata metadata = bpmnMetadataCache.get(activity.getProcessDefinitionId(), activity.getActivityId());
+                if (metadata != null && metadata.targetStatus() != null) {
+                    historyEvents.add(new TrackingHistoryEvent(convertDateToLocalDateTime(activity.getStartTime()),
+                            metadata.displayName(), metadata.badgeClass(), metadata.location()));
+                }
+            }
+            return historyEvents;
         } catch (Exception e) {
             log.error("Takip numarası '{}', PI_ID '{}' için Camunda geçmişi alınırken hata: {}",
                     cargo.getTrackingNumber(), cargo.getProcessInstanceId(), e.getMessage(), e);
@@ -374,132 +818,148 @@ public class CargoServiceImpl implements CargoService {
     @Transactional(readOnly = true)
     public PanelDataDto getPanelData() {
         log.debug("Panel verileri sorgulanıyor...");
-        long beklemedeAlinan = cargoRepository.countByCurrentStatusIn(List.of(CargoStatus.PENDING, CargoStatus.RECEIVED));
+        long beklemedeAlinan = cargoStatusCounter.count(List.of(CargoStatus.PENDING, CargoStatus.RECEIVED));
         List<CargoStatus> tasinmaTransferDurumlari = List.of(
                 CargoStatus.LOADED_ON_VEHICLE_1, CargoStatus.AT_TRANSFER_CENTER,
                 CargoStatus.LOADED_ON_VEHICLE_2, CargoStatus.AT_DISTRIBUTION_HUB
         );
-        long tasiniyorTransferde = cargoRepository.countByCurrentStatusIn(tasinmaTransferDurumlari);
-        long dagitimda = cargoRepository.countByCurrentStatus(CargoStatus.OUT_FOR_DELIVERY);
-        long teslimEdilen = cargoRepository.countByCurrentStatus(CargoStatus.DELIVERED);
-        long iptalEdilen = cargoRepository.countByCurrentStatus(CargoStatus.CANCELLED);
+        long tasiniyorTransferde = cargoStatusCounter.count(tasinmaTransferDurumlari);
+        long dagitimda = cargoStatusCounter.count(CargoStatus.OUT_FOR_DELIVERY);
+        long teslimEdilen = cargoStatusCounter.count(CargoStatus.DELIVERED);
+        long iptalEdilen = cargoStatusCounter.count(CargoStatus.CANCELLED);
+
+        List<RecentActivityDto> recentActivities = recentActivityBuffer.latest(RECENT_ACTIVITY_LIMIT).stream()
+                .map(event -> new RecentActivityDto(
+                        event.getTrackingNumber(),
+                        event.getDisplayName() != null ? event.getDisplayName() : CargoStatusPresentation.of(event.getStatus()).displayName(),
+                        CargoStatusPresentation.of(event.getStatus()).badgeClass(),
+                        event.getTimestamp()))
+                .collect(Collectors.toList());
+        return PanelDataDto.builder()
+                .beklemedeAlinanCount(beklemedeAlinan).tasiniyorTransferdeCount(tasiniyorTransferde)
+                .dagitimdaCount(dagitimda).teslimEdilenCount(teslimEdilen)
+                .iptalEdilenCount(iptalEdilen).recentActivities(recentActivities).build();
+    }
 
-        List<RecentActivityDto> recentActivities = new ArrayList<>();
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpRecentActivities() {
+        if (!recentActivityBuffer.isEmpty()) {
+            return;
+        }
         try {
             List<HistoricActivityInstance> lastFinishedServiceTasks = historyService.createHistoricActivityInstanceQuery()
-                    .activityType("serviceTask").finished().orderByHistoricActivityInstanceEndTime().desc().listPage(0, 20);
+                    .activityType("serviceTask").finished().orderByHistoricActivityInstanceEndTime().desc().listPage(0, RECENT_ACTIVITY_WARM_UP_SCAN_SIZE);
             List<HistoricActivityInstance> filteredActivities = lastFinishedServiceTasks.stream()
-                    .filter(activity -> TRACKING_ACTIVITY_IDS.contains(activity.getActivityId()))
-                    .limit(10).toList();
-            if (!filteredActivities.isEmpty()) {
-                Set<String> processInstanceIds = filteredActivities.stream().map(HistoricActivityInstance::getProcessInstanceId).collect(Collectors.toSet());
-                List<HistoricProcessInstance> processInstances = historyService.createHistoricProcessInstanceQuery().processInstanceIds(processInstanceIds).list();
-                Map<String, String> piIdToBusinessKeyMap = processInstances.stream()
-                        .filter(pi -> StringUtils.hasText(pi.getBusinessKey()))
-                        .collect(Collectors.toMap(HistoricProcessInstance::getId, HistoricProcessInstance::getBusinessKey, (key1, key2) -> key1));
-                recentActivities = filteredActivities.stream().map(activity -> {
-                    String activityName = StringUtils.hasText(activity.getActivityName()) ? activity.getActivityName() : "Bilinmeyen İşlem";
-                    String statusDesc = extractStatusFromActivityName(activityName);
-                    LocalDateTime timestamp = convertDateToLocalDateTime(activity.getEndTime());
-                    String trackingNo = piIdToBusinessKeyMap.getOrDefault(activity.getProcessInstanceId(), "-");
-                    CargoStatus statusEnum = findStatusByActivityName(activityName);
-                    String badgeClass = getStatusBadgeClass(statusEnum);
-                    return new RecentActivityDto(trackingNo, statusDesc, badgeClass, timestamp);
-                }).collect(Collectors.toList());
+                    .filter(activity -> bpmnMetadataCache.getTargetStatus(activity.getProcessDefinitionId(), activity.getActivityId()) != null)
+                    .limit(RECENT_ACTIVITY_LIMIT).toList();
+            if (filteredActivities.isEmpty()) {
+                return;
+            }
+            Set<String> processInstanceIds = filteredActivities.stream().map(HistoricActivityInstance::getProcessInstanceId).collect(Collectors.toSet());
+            List<HistoricProcessInstance> processInstances = historyService.createHistoricProcessInstanceQuery().processInstanceIds(processInstanceIds).list();
+            Map<String, String> piIdToBusinessKeyMap = processInstances.stream()
+                    .filter(pi -> StringUtils.hasText(pi.getBusinessKey()))
+                    .collect(Collectors.toMap(HistoricProcessInstance::getId, HistoricProcessInstance::getBusinessKey, (key1, key2) -> key1));
+            // Tampona eskiden yeniye doğru yazılır
+            for (int i = filteredActivities.size() - 1; i >= 0; i--) {
+                HistoricActivityInstance activity = filteredActivities.get(i);
+                BpmnMetadataCache.ActivityMetadata metadata = bpmnMetadataCache.get(activity.getProcessDefinitionId(), activity.getActivityId());
+                recentActivityBuffer.publish(new CargoStatusTransitionEvent(
+                        piIdToBusinessKeyMap.getOrDefault(activity.getProcessInstanceId(), "-"),
+                        metadata.targetStatus(),
+                        metadata.displayName(),
+                        convertDateToLocalDateTime(activity.getEndTime())));
             }
+            log.info("Son işlemler tamponu Camunda geçmişinden {} kayıt ile dolduruldu.", filteredActivities.size());
         } catch (Exception e) {
-            log.error("Son işlemler alınırken Camunda geçmiş sorgusunda hata oluştu: {}", e.getMessage(), e);
+            log.error("Son işlemler tamponu Camunda geçmişinden doldurulurken hata oluştu: {}", e.getMessage(), e);
         }
-        return PanelDataDto.builder()
-                .beklemedeAlinanCount(beklemedeAlinan).tasiniyorTransferdeCount(tasiniyorTransferde)
-                .dagitimdaCount(dagitimda).teslimEdilenCount(teslimEdilen)
-                .iptalEdilenCount(iptalEdilen).recentActivities(recentActivities).build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<CargoSearchResultDto> searchCargos(CargoSearchCriteria criteria, Pageable pageable) {
+        return cargoMetrics.record(CargoMetrics.SEARCH, () -> findCargoPage(criteria, pageable), "pagination", "offset");
+    }
+
+    private Page<CargoSearchResultDto> findCargoPage(CargoSearchCriteria criteria, Pageable pageable) {
         Specification<Cargo> spec = CargoSpecification.findByCriteria(criteria);
         Page<Cargo> cargoPage = cargoRepository.findAll(spec, pageable);
+        Set<String> completableProcessInstanceIds = resolveCompletableProcessInstanceIds(cargoPage.getContent());
         List<CargoSearchResultDto> resultList = cargoPage.getContent().stream()
-                .map(this::mapCargoToSearchResultDto)
+                .map(cargo -> mapCargoToSearchResultDto(cargo, completableProcessInstanceIds))
                 .collect(Collectors.toList());
         return new PageImpl<>(resultList, pageable, cargoPage.getTotalElements());
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ActiveTaskDto> getActiveUserTasks(String username, List<String> userGroups) {
-        TaskQuery query = taskService.createTaskQuery().active();
-
-        log.info("TÜM aktif kullanıcı görevleri sorgulanıyor (kullanıcı/grup filtresi yok).");
-
-        List<Task> tasks = query.orderByTaskCreateTime().desc().list();
+    public CargoSearchSlice searchCargosAfter(CargoSearchCriteria criteria, String continuationToken, int size) {
+        return cargoMetrics.record(CargoMetrics.SEARCH, () -> findCargoSlice(criteria, continuationToken, size), "pagination", "keyset");
+    }
 
-        if (tasks.isEmpty()) {
-            log.info("Sistemde hiç aktif Camunda görevi bulunamadı.");
-            return List.of();
+    private CargoSearchSlice findCargoSlice(CargoSearchCriteria criteria, String continuationToken, int size) {
+        Specification<Cargo> spec = CargoSpecification.findByCriteria(criteria);
+        if (StringUtils.hasText(continuationToken)) {
+            spec = spec.and(CargoSpecification.after(CargoSearchCursor.decode(continuationToken)));
         }
+        // Toplam sayı sorgulanmaz; bir fazla satır okunarak sonraki sayfanın varlığı anlaşılır
+        List<Cargo> cargos = cargoRepository.findBy(spec, query -> query.sortBy(KEYSET_SORT).limit(size + 1).all());
+        boolean hasNext = cargos.size() > size;
+        List<Cargo> pageContent = hasNext ? cargos.subList(0, size) : cargos;
+
+        Set<String> completableProcessInstanceIds = resolveCompletableProcessInstanceIds(pageContent);
+        List<CargoSearchResultDto> items = pageContent.stream()
+                .map(cargo -> mapCargoToSearchResultDto(cargo, completableProcessInstanceIds))
+                .collect(Collectors.toList());
+        String nextToken = null;
+        if (hasNext) {
+            Cargo last = pageContent.get(pageContent.size() - 1);
+            nextToken = new CargoSearchCursor(last.getLastUpdatedAt(), last.getId()).encode();
+        }
+        return CargoSearchSlice.builder().items(items).hasNext(hasNext).nextToken(nextToken).build();
+    }
 
-        log.info("Camunda sorgusu sonucu {} aktif görev bulundu.", tasks.size());
-
-        Set<String> processDefinitionIds = tasks.stream()
-                .map(Task::getProcessDefinitionId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        Map<String, ProcessDefinition> pdMap = new HashMap<>();
-        if (!processDefinitionIds.isEmpty()) {
-            List<ProcessDefinition> pds = repositoryService.createProcessDefinitionQuery()
-                    .processDefinitionIdIn(processDefinitionIds.toArray(new String[0]))
-                    .list();
-            pdMap.putAll(pds.stream().collect(Collectors.toMap(ProcessDefinition::getId, pd -> pd)));
-        }
-
-        return tasks.stream()
-                .map(task -> {
-                    ProcessInstance pi = null;
-                    if (task.getProcessInstanceId() != null) {
-                        List<ProcessInstance> instances = runtimeService.createProcessInstanceQuery()
-                                .processInstanceId(task.getProcessInstanceId())
-                                .list();
-                        if (!instances.isEmpty()) {
-                            pi = instances.get(0);
-                        }
-                    }
-                    ProcessDefinition pd = pdMap.get(task.getProcessDefinitionId());
-                    String processDefinitionName = "Bilinmeyen Süreç";
-                    if (pd != null) {
-                        processDefinitionName = StringUtils.hasText(pd.getName()) ? pd.getName() : pd.getKey();
-                    } else if (task.getProcessDefinitionId() != null) {
-                        processDefinitionName = "Tanım ID: " + task.getProcessDefinitionId();
-                    }
-
-                    String businessKeyFromPI = (pi != null) ? pi.getBusinessKey() : null;
+    @Override
+    public Page<ActiveTaskDto> getActiveUserTasks(ActiveTaskCriteria criteria, Pageable pageable) {
+        TaskQuery query = createActiveTaskQuery(criteria);
+        long totalCount = query.count();
+        if (totalCount == 0) {
+            log.info("Filtreye uyan aktif Camunda görevi bulunamadı. Filtre: {}", criteria);
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
 
-                    List<String> candidateGroupList = Collections.emptyList(); // Başlangıçta boş
-                    try {
-                        candidateGroupList = taskService.getIdentityLinksForTask(task.getId()).stream()
-                                .filter(link -> link.getGroupId() != null && "candidate".equals(link.getType()))
-                                .map(IdentityLink::getGroupId)
-                                .collect(Collectors.toList());
-                    } catch (ProcessEngineException e) {
-                        log.warn("Task ID {} için IdentityLink alınırken hata: {}", task.getId(), e.getMessage());
-                    }
+        List<Task> tasks = query.orderByTaskCreateTime().desc()
+                .listPage((int) pageable.getOffset(), pageable.getPageSize());
+        log.info("Toplam {} aktif görevden {} tanesi sayfa {} için yüklendi. Filtre: {}",
+                totalCount, tasks.size(), pageable.getPageNumber(), criteria);
+        return new PageImpl<>(activeTaskAssembler.assemble(tasks), pageable, totalCount);
+    }
 
+    @Override
+    public void streamActiveUserTasks(ActiveTaskCriteria criteria, int chunkSize, Consumer<List<ActiveTaskDto>> chunkConsumer) {
+        TaskQuery query = createActiveTaskQuery(criteria).orderByTaskCreateTime().desc();
+        int firstResult = 0;
+        List<Task> tasks;
+        do {
+            tasks = query.listPage(firstResult, chunkSize);
+            if (!tasks.isEmpty()) {
+                chunkConsumer.accept(activeTaskAssembler.assemble(tasks));
+            }
+            firstResult += tasks.size();
+        } while (tasks.size() == chunkSize);
+        log.debug("Aktif görev akışı tamamlandı. Gönderilen görev sayısı: {}", firstResult);
+    }
 
-                    return ActiveTaskDto.builder()
-                            .taskId(task.getId())
-                            .taskName(StringUtils.hasText(task.getName()) ? task.getName() : task.getTaskDefinitionKey())
-                            .taskDefinitionKey(task.getTaskDefinitionKey())
-                            .processInstanceId(task.getProcessInstanceId())
-                            .processDefinitionName(processDefinitionName)
-                            .businessKey(businessKeyFromPI)
-                            .createTime(task.getCreateTime() != null ? task.getCreateTime().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime() : null)
-                            .assignee(task.getAssignee())
-                            .candidateGroups(candidateGroupList)
-                            .build();
-                })
-                .collect(Collectors.toList());
+    private TaskQuery createActiveTaskQuery(ActiveTaskCriteria criteria) {
+        TaskQuery query = taskService.createTaskQuery().active();
+        if (criteria != null && StringUtils.hasText(criteria.getTaskDefinitionKey())) {
+            query.taskDefinitionKey(criteria.getTaskDefinitionKey().trim());
+        }
+        if (criteria != null && StringUtils.hasText(criteria.getCandidateGroup())) {
+            query.taskCandidateGroup(criteria.getCandidateGroup().trim()).includeAssignedTasks();
+        }
+        return query;
     }
 
     @Override
@@ -520,7 +980,7 @@ public class CargoServiceImpl implements CargoService {
 
         Map<String, Object> variablesToCompleteWith = new HashMap<>();
         if (processDefinitionId != null) {
-            String nextStepVarNameFromBpmn = getNextStepVariableFromBpmn(processDefinitionId, taskDefinitionKey);
+            String nextStepVarNameFromBpmn = bpmnMetadataCache.getNextStepVariable(processDefinitionId, taskDefinitionKey);
             if (StringUtils.hasText(nextStepVarNameFromBpmn)) {
                 variablesToCompleteWith.put(nextStepVarNameFromBpmn, true);
                 log.info("Süreç (ID: {}) için '{}' değişkeni 'true' olarak görevle birlikte ayarlanacak.", processInstanceId, nextStepVarNameFromBpmn);
@@ -528,21 +988,19 @@ public class CargoServiceImpl implements CargoService {
         }
 
         try {
-            if (variablesToCompleteWith.isEmpty()) {
-                taskService.complete(taskId);
-            } else {
-                taskService.complete(taskId, variablesToCompleteWith);
-            }
-
-            if (processInstanceId != null) {
-                ProcessInstance pi = runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult();
-                if (pi != null && StringUtils.hasText(pi.getBusinessKey())) {
-                    cargoRepository.findByTrackingNumber(pi.getBusinessKey()).ifPresent(cargo -> {
-                        cargo.setLastUpdatedAt(LocalDateTime.now());
-                        cargoRepository.save(cargo);
-                        log.info("Kargo (Takip No: {}) son güncellenme zamanı güncellendi, görev '{}' tamamlandı.", pi.getBusinessKey(), taskName);
-                    });
-                }
+            // Görev tamamlanınca süreç bitebileceğinden iş anahtarı önceden okunur
+            ProcessInstance pi = processInstanceId != null
+                    ? runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).singleResult() : null;
+            cargoMetrics.record(CargoMetrics.TASK_COMPLETION, () -> taskService.complete(taskId, variablesToCompleteWith),
+                    "task", taskDefinitionKey);
+
+            if (pi != null && StringUtils.hasText(pi.getBusinessKey())) {
+                cargoRepository.findByTrackingNumber(pi.getBusinessKey()).ifPresent(cargo -> {
+                    cargo.setLastUpdatedAt(LocalDateTime.now());
+                    cargoRepository.save(cargo);
+                    log.info("Kargo (Takip No: {}) son güncellenme zamanı güncellendi, görev '{}' tamamlandı.", pi.getBusinessKey(), taskName);
+                });
+                trackingInfoCache.invalidateAfterCommit(pi.getBusinessKey());
             }
             log.info("Görev (Task ID: {}, Adı: '{}') başarıyla tamamlandı.", taskId, taskName);
         } catch (ProcessEngineException e){
@@ -551,117 +1009,61 @@ public class CargoServiceImpl implements CargoService {
         }
     }
 
-    private CargoSearchResultDto mapCargoToSearchResultDto(Cargo cargo) {
-        boolean isCompletableInList = false;
-        boolean isCancellable = cargo.getCurrentStatus() != CargoStatus.DELIVERED &&
-                cargo.getCurrentStatus() != CargoStatus.CANCELLED;
-        if (isCancellable && StringUtils.hasText(cargo.getProcessInstanceId())) {
-            try {
-                ProcessInstance piRuntimeCheck = runtimeService.createProcessInstanceQuery()
-                        .processInstanceId(cargo.getProcessInstanceId())
-                        .active()
-                        .singleResult();
-                if (piRuntimeCheck != null) {
-                    long activeTaskCount = taskService.createTaskQuery()
-                            .processInstanceId(cargo.getProcessInstanceId())
-                            .active()
-                            .count();
-                    isCompletableInList = activeTaskCount > 0;
-                } else {
-                    log.trace("mapCargoToSearchResultDto for TN {}: PI_ID {} is not active. 'completable' will be false.",
-                            cargo.getTrackingNumber(), cargo.getProcessInstanceId());
-                }
-                log.trace("mapCargoToSearchResultDto for TN {}: PI_ID {}, isCompletableInList: {}",
-                        cargo.getTrackingNumber(), cargo.getProcessInstanceId(), isCompletableInList);
-            } catch (ProcessEngineException e) {
-                log.warn("mapCargoToSearchResultDto: Aktif görev sayısı sorgulanırken hata (TN: {}, PI_ID: {}): {}. 'completable' false olarak ayarlanıyor.",
-                        cargo.getTrackingNumber(), cargo.getProcessInstanceId(), e.getMessage());
+    /**
+     * Sayfadaki kargoların süreçlerinden hangilerinde tamamlanabilir aktif görev olduğunu
+     * satır başına sorgu atmadan, iki küme sorgusuyla belirler.
+     */
+    private Set<String> resolveCompletableProcessInstanceIds(Collection<Cargo> cargos) {
+        Set<String> candidateIds = cargos.stream()
+                .filter(this::isCancellable)
+                .map(Cargo::getProcessInstanceId)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toSet());
+        if (candidateIds.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            Set<String> activeProcessInstanceIds = runtimeService.createProcessInstanceQuery()
+                    .processInstanceIds(candidateIds)
+                    .active()
+                    .list().stream()
+                    .map(ProcessInstance::getProcessInstanceId)
+                    .collect(Collectors.toSet());
+            if (activeProcessInstanceIds.isEmpty()) {
+                return Set.of();
             }
-        } else if (!StringUtils.hasText(cargo.getProcessInstanceId()) && isCancellable) {
-            log.trace("mapCargoToSearchResultDto for TN {}: No PI_ID. 'completable' will be false.", cargo.getTrackingNumber());
+            return taskService.createTaskQuery()
+                    .processInstanceIdIn(activeProcessInstanceIds.toArray(new String[0]))
+                    .active()
+                    .list().stream()
+                    .map(Task::getProcessInstanceId)
+                    .collect(Collectors.toSet());
+        } catch (ProcessEngineException e) {
+            log.warn("resolveCompletableProcessInstanceIds: Aktif görevler toplu sorgulanırken hata ({} süreç): {}. 'completable' false olarak ayarlanıyor.",
+                    candidateIds.size(), e.getMessage());
+            return Set.of();
         }
+    }
+
+    private boolean isCancellable(Cargo cargo) {
+        return cargo.getCurrentStatus() != CargoStatus.DELIVERED &&
+                cargo.getCurrentStatus() != CargoStatus.CANCELLED;
+    }
+
+    private CargoSearchResultDto mapCargoToSearchResultDto(Cargo cargo, Set<String> completableProcessInstanceIds) {
+        boolean isCancellable = isCancellable(cargo);
+        boolean isCompletableInList = isCancellable && StringUtils.hasText(cargo.getProcessInstanceId())
+                && completableProcessInstanceIds.contains(cargo.getProcessInstanceId());
         return CargoSearchResultDto.builder()
                 .trackingNumber(cargo.getTrackingNumber()).senderName(cargo.getSenderName())
                 .receiverName(cargo.getReceiverName()).receiverCity(cargo.getReceiverCity())
-                .currentStatus(getStatusDisplayName(cargo.getCurrentStatus()))
-                .currentStatusBadgeClass(getStatusBadgeClass(cargo.getCurrentStatus()))
+                .currentStatus(CargoStatusPresentation.of(cargo.getCurrentStatus()).displayName())
+                .currentStatusBadgeClass(CargoStatusPresentation.of(cargo.getCurrentStatus()).badgeClass())
                 .lastUpdatedAt(cargo.getLastUpdatedAt())
                 .cancellable(isCancellable).completable(isCompletableInList).build();
     }
 
-    private CargoStatus findStatusByActivityName(String activityName) {
-        if (!StringUtils.hasText(activityName)) return null;
-        String lowerActivityName = activityName.toLowerCase();
-        if (lowerActivityName.contains("kargo alındı")) return CargoStatus.RECEIVED;
-        if (lowerActivityName.contains("ilk araca yüklendi")) return CargoStatus.LOADED_ON_VEHICLE_1;
-        if (lowerActivityName.contains("transfer merkezinde")) return CargoStatus.AT_TRANSFER_CENTER;
-        if (lowerActivityName.contains("son araca yüklendi")) return CargoStatus.LOADED_ON_VEHICLE_2;
-        if (lowerActivityName.contains("dağıtım bölgesinde")) return CargoStatus.AT_DISTRIBUTION_HUB;
-        if (lowerActivityName.contains("dağıtımda")) return CargoStatus.OUT_FOR_DELIVERY;
-        if (lowerActivityName.contains("teslim edildi")) return CargoStatus.DELIVERED;
-        if (lowerActivityName.contains("iptal edildi")) return CargoStatus.CANCELLED;
-        return null;
-    }
-
-    private String extractStatusFromActivityName(String activityName) {
-        if (!StringUtils.hasText(activityName)) return "Bilinmeyen Durum";
-        if (activityName.startsWith("Durumu Güncelle: ")) return activityName.substring("Durumu Güncelle: ".length()).trim();
-        if (activityName.startsWith("Tamamla: ")) return activityName.substring("Tamamla: ".length()).trim() + " Tamamlandı";
-        return activityName;
-    }
-
-    private String extractLocationFromActivityName(String activityName) {
-        if (!StringUtils.hasText(activityName)) return "-";
-        String lowerActivityName = activityName.toLowerCase();
-        if (lowerActivityName.contains("transfer merkezi")) return "Transfer Merkezi";
-        if (lowerActivityName.contains("dağıtım bölgesi")) return "Dağıtım Bölgesi";
-        if (lowerActivityName.contains("ilk araca yüklendi")) return "Kalkış Noktası";
-        if (lowerActivityName.contains("son araca yüklendi")) return "Ara Transfer Noktası";
-        if (lowerActivityName.contains("dağıtımda")) return "Müşteri Adresine Yakın Bölge";
-        if (lowerActivityName.contains("teslim edildi")) return "Teslimat Adresi";
-        if (lowerActivityName.contains("kargo alındı")) return "Gönderici Şube";
-        if (lowerActivityName.contains("iptal edildi")) return "İşlem Merkezi";
-        return "-";
-    }
-
     private LocalDateTime convertDateToLocalDateTime(Date dateToConvert) {
         return dateToConvert == null ? null : dateToConvert.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
     }
-
-    private String getStatusDisplayName(CargoStatus status) {
-        if (status == null) return "Bilinmiyor";
-        return switch (status) {
-            case PENDING -> "Beklemede"; case RECEIVED -> "Kargo Alındı";
-            case LOADED_ON_VEHICLE_1 -> "İlk Araca Yüklendi"; case AT_TRANSFER_CENTER -> "Transfer Merkezinde";
-            case LOADED_ON_VEHICLE_2 -> "Son Araca Yüklendi"; case AT_DISTRIBUTION_HUB -> "Dağıtım Bölgesinde";
-            case OUT_FOR_DELIVERY -> "Dağıtımda"; case DELIVERED -> "Teslim Edildi";
-            case CANCELLED -> "İptal Edildi"; default -> status.name().replace("_", " ").toLowerCase();
-        };
-    }
-
-    private String getStatusBadgeClass(CargoStatus status) {
-        if (status == null) return "bg-secondary text-white";
-        return switch (status) {
-            case PENDING, RECEIVED -> "bg-secondary text-white";
-            case LOADED_ON_VEHICLE_1, AT_TRANSFER_CENTER, LOADED_ON_VEHICLE_2, AT_DISTRIBUTION_HUB -> "bg-primary text-white";
-            case OUT_FOR_DELIVERY -> "bg-info text-dark";
-            case DELIVERED -> "bg-success text-white"; case CANCELLED -> "bg-danger text-white";
-            default -> "bg-dark text-white";
-        };
-    }
-
-    private String generateUniqueTrackingNumber() {
-        for (int i = 0; i < MAX_TRACKING_NUMBER_ATTEMPTS; i++) {
-            String prefix = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyMM"));
-            int randomPart = ThreadLocalRandom.current().nextInt(100000, 1000000);
-            String trackingNumber = prefix + randomPart;
-            if (!cargoRepository.existsByTrackingNumber(trackingNumber)) {
-                log.debug("Üretilen Takip Numarası: {}", trackingNumber);
-                return trackingNumber;
-            }
-            log.warn("Takip numarası çakışması: {}. Deneme: {}/{}", trackingNumber, i + 1, MAX_TRACKING_NUMBER_ATTEMPTS);
-        }
-        log.error("{} denemede benzersiz takip numarası üretilemedi.", MAX_TRACKING_NUMBER_ATTEMPTS);
-        throw new TrackingNumberGenerationException("Benzersiz takip numarası " + MAX_TRACKING_NUMBER_ATTEMPTS + " denemede üretilemedi.");
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,165 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
+import com.ozansoyak.cargo_process_tracking.repository.CargoStatusCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Panel için durum bazlı kargo sayılarını bellekte tutar. Sayılar tek bir GROUP BY sorgusuyla
+ * yüklenir, oluşturma/durum değişikliği/iptal yollarından gelen farklarla commit sonrası güncellenir
+ * ve periyodik olarak veritabanıyla yeniden eşitlenir.
+ * <p>
+ * Sayaç güncelleyen transaction'lar commit'ten farkın uygulanmasına kadar okuma kilidini tutar; eşitleme
+ * yazma kilidiyle çalışır. Böylece eşitleme sorgusu ya commit'i ve farkını birlikte görür ya da ikisini de
+ * görmez; commit edilmiş ama farkı henüz uygulanmamış bir değişiklik iki kez sayılmaz veya kaybolmaz.
+ * Commit'ler yalnızca eşitleme sorgusu sürdüğü kadar bekler.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CargoStatusCounter {
+
+    private final CargoRepository cargoRepository;
+    private final CargoMetrics cargoMetrics;
+
+    // Son eşitlemede veritabanından okunan değer ile o andaki fark toplamının farkı
+    private final Map<CargoStatus, Long> baseCounts = new EnumMap<>(CargoStatus.class);
+    private final Map<CargoStatus, LongAdder> deltas = new EnumMap<>(CargoStatus.class);
+    private final ReentrantReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+    private volatile boolean seeded = false;
+
+    {
+        for (CargoStatus status : CargoStatus.values()) {
+            baseCounts.put(status, 0L);
+            deltas.put(status, new LongAdder());
+        }
+    }
+
+    public void recordCreated(CargoStatus status, int count) {
+        applyAfterCommit(() -> {
+            deltas.get(status).add(count);
+            cargoMetrics.recordTransition(null, status, count);
+        });
+    }
+
+    public void recordTransition(CargoStatus from, CargoStatus to) {
+        if (from == to) {
+            return;
+        }
+        applyAfterCommit(() -> {
+            if (from != null) {
+                deltas.get(from).decrement();
+            }
+            deltas.get(to).increment();
+            cargoMetrics.recordTransition(from, to, 1);
+        });
+    }
+
+    public long count(CargoStatus status) {
+        ensureSeeded();
+        synchronized (baseCounts) {
+            return baseCounts.get(status) + deltas.get(status).sum();
+        }
+    }
+
+    public long count(Collection<CargoStatus> statuses) {
+        long total = 0;
+        for (CargoStatus status : statuses) {
+            total += count(status);
+        }
+        return total;
+    }
+
+    @Scheduled(initialDelayString = "${cargo.status-counter.reconcile-interval-ms:300000}",
+            fixedDelayString = "${cargo.status-counter.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<CargoStatus, Long> databaseCounts = new EnumMap<>(CargoStatus.class);
+        for (CargoStatus status : CargoStatus.values()) {
+            databaseCounts.put(status, 0L);
+        }
+
+        // Sorgu ile farkların sıfırlanması arasında commit olamaz; sorgunun gördüğü her değişikliğin farkı uygulanmıştır
+        reconcileLock.writeLock().lock();
+        try {
+            for (CargoStatusCount row : cargoRepository.countGroupedByCurrentStatus()) {
+                databaseCounts.put(row.getStatus(), row.getTotal());
+            }
+            synchronized (baseCounts) {
+                for (CargoStatus status : CargoStatus.values()) {
+                    long current = baseCounts.get(status) + deltas.get(status).sum();
+                    long reconciled = databaseCounts.get(status);
+                    baseCounts.put(status, reconciled);
+                    deltas.get(status).reset();
+                    if (seeded && current != reconciled) {
+                        log.warn("Durum sayacı sapması düzeltildi. Durum: {}, Bellek: {}, Veritabanı: {}", status, current, reconciled);
+                    }
+                }
+                seeded = true;
+            }
+        } finally {
+            reconcileLock.writeLock().unlock();
+        }
+        log.debug("Durum sayaçları veritabanı ile eşitlendi: {}", databaseCounts);
+    }
+
+    private void ensureSeeded() {
+        if (!seeded) {
+            synchronized (this) {
+                if (!seeded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    /**
+     * Farkı commit sonrasında uygular. Okuma kilidi commit'ten önce alınır ve fark uygulanana kadar tutulur;
+     * geri alınan veya sonucu bilinmeyen transaction'ların farkı uygulanmaz, bir sonraki eşitleme düzeltir.
+     */
+    private void applyAfterCommit(Runnable delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reconcileLock.readLock().lock();
+            try {
+                delta.run();
+            } finally {
+                reconcileLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                reconcileLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        delta.run();
+                    }
+                } finally {
+                    if (locked) {
+                        locked = false;
+                        reconcileLock.readLock().unlock();
+                    }
+                }
+            }
+        });
+    }
+}
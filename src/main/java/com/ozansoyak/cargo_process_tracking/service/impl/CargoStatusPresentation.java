@@ -0,0 +1,37 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Her kargo durumunun ekranda ve e-postada nasıl gösterileceği: görünen ad, e-posta metnindeki ad,
+ * Bootstrap rozet sınıfı ve takip geçmişindeki konum. Tablo bir kez oluşturulur; okuma tarafı nesne üretmez.
+ */
+public record CargoStatusPresentation(String displayName, String emailDisplayName, String badgeClass, String location) {
+
+    public static final CargoStatusPresentation UNKNOWN =
+            new CargoStatusPresentation("Bilinmiyor", "Bilinmiyor", "bg-secondary text-white", "-");
+
+    private static final Map<CargoStatus, CargoStatusPresentation> BY_STATUS = new EnumMap<>(CargoStatus.class);
+
+    static {
+        BY_STATUS.put(CargoStatus.PENDING, new CargoStatusPresentation("Beklemede", "Onay Bekliyor", "bg-secondary text-white", "-"));
+        BY_STATUS.put(CargoStatus.RECEIVED, new CargoStatusPresentation("Kargo Alındı", "Kargo Alındı", "bg-secondary text-white", "Gönderici Şube"));
+        BY_STATUS.put(CargoStatus.LOADED_ON_VEHICLE_1, new CargoStatusPresentation("İlk Araca Yüklendi", "İlk Taşıma Aracına Yüklendi", "bg-primary text-white", "Kalkış Noktası"));
+        BY_STATUS.put(CargoStatus.AT_TRANSFER_CENTER, new CargoStatusPresentation("Transfer Merkezinde", "Transfer Merkezinde", "bg-primary text-white", "Transfer Merkezi"));
+        BY_STATUS.put(CargoStatus.LOADED_ON_VEHICLE_2, new CargoStatusPresentation("Son Araca Yüklendi", "Dağıtım Aracına Yüklendi", "bg-primary text-white", "Ara Transfer Noktası"));
+        BY_STATUS.put(CargoStatus.AT_DISTRIBUTION_HUB, new CargoStatusPresentation("Dağıtım Bölgesinde", "Dağıtım Merkezinde", "bg-primary text-white", "Dağıtım Bölgesi"));
+        BY_STATUS.put(CargoStatus.OUT_FOR_DELIVERY, new CargoStatusPresentation("Dağıtımda", "Dağıtıma Çıkarıldı", "bg-info text-dark", "Müşteri Adresine Yakın Bölge"));
+        BY_STATUS.put(CargoStatus.DELIVERED, new CargoStatusPresentation("Teslim Edildi", "Teslim Edildi", "bg-success text-white", "Teslimat Adresi"));
+        BY_STATUS.put(CargoStatus.CANCELLED, new CargoStatusPresentation("İptal Edildi", "İptal Edildi", "bg-danger text-white", "İşlem Merkezi"));
+    }
+
+    public static CargoStatusPresentation of(CargoStatus status) {
+        if (status == null) {
+            return UNKNOWN;
+        }
+        return BY_STATUS.getOrDefault(status, UNKNOWN);
+    }
+}
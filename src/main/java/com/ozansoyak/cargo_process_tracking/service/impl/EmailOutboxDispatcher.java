@@ -0,0 +1,190 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
+import com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus;
+import com.ozansoyak.cargo_process_tracking.repository.EmailOutboxRepository;
+import com.ozansoyak.cargo_process_tracking.service.EmailService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * email_outbox tablosundaki bekleyen bildirimleri gruplar halinde gönderir. Her grup tek SMTP bağlantısı
+ * üzerinden gider, aynı anda en fazla {@code concurrency} grup gönderilir. Başarısız gönderimler üstel
+ * bekleme ile tekrar denenir; deneme hakkı biten kayıtlar DEAD durumuna alınır. Alınan kayıtlar kira bitiş
+ * zamanıyla işaretlenir; sonuç yalnızca kira hâlâ bu gönderime aitse yazılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final BatchMailSender batchMailSender;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final CargoMetrics cargoMetrics;
+
+    @Value("${cargo.email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${cargo.email.outbox.concurrency:4}")
+    private int concurrency;
+
+    @Value("${cargo.email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${cargo.email.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${cargo.email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${cargo.email.outbox.lease-ms:120000}")
+    private long leaseMs;
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService sendExecutor;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCounter = new AtomicInteger();
+        // Sanal iş parçacığı modunda da platform iş parçacığı kullanılır: Jakarta Mail SMTP yazımını synchronized
+        // metotlar içinde yapar ve Java 21'de taşıyıcı iş parçacığını kilitler; eşzamanlılık zaten concurrency ile sınırlı
+        sendExecutor = Executors.newFixedThreadPool(Math.max(1, concurrency), runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (EmailOutboxStatus status : List.of(EmailOutboxStatus.PENDING, EmailOutboxStatus.DEAD)) {
+            Gauge.builder("cargo.email.outbox.depth", emailOutboxRepository, repository -> repository.countByStatus(status))
+                    .description("Giden kutusunda bekleyen veya vazgeçilmiş bildirim sayısı")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sendExecutor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${cargo.email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        int claimLimit = Math.max(1, batchSize) * Math.max(1, concurrency);
+        List<EmailOutbox> claimed;
+        do {
+            // Kira bitişi sonuç güncellemelerinde eşitlikle karşılaştırılır; kolonun mikro saniye hassasiyetine indirilir
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+            claimed = claim(claimLimit, now, leaseUntil);
+            if (claimed.isEmpty()) {
+                return;
+            }
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int from = 0; from < claimed.size(); from += batchSize) {
+                List<EmailOutbox> group = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+                futures.add(CompletableFuture.runAsync(() -> sendGroup(group, leaseUntil), sendExecutor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } while (claimed.size() == claimLimit);
+    }
+
+    private List<EmailOutbox> claim(int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        List<EmailOutbox> claimed = transactionTemplate.execute(status -> {
+            List<EmailOutbox> due = emailOutboxRepository.findDueForUpdate(EmailOutboxStatus.PENDING, now, Limit.of(limit));
+            if (!due.isEmpty()) {
+                // Gönderim sırasında düğüm çökerse kayıtlar kira süresi dolunca tekrar alınır
+                emailOutboxRepository.lease(due.stream().map(EmailOutbox::getId).toList(), leaseUntil);
+            }
+            return due;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void sendGroup(List<EmailOutbox> group, LocalDateTime leaseUntil) {
+        Map<Long, SimpleMailMessage> messages = new LinkedHashMap<>();
+        Map<Long, Exception> failures = new LinkedHashMap<>();
+        for (EmailOutbox notification : group) {
+            try {
+                messages.put(notification.getId(), emailService.buildStatusChangeMessage(notification));
+            } catch (Exception e) {
+                failures.put(notification.getId(), e);
+            }
+        }
+        failures.putAll(cargoMetrics.record(CargoMetrics.EMAIL_DISPATCH, () -> batchMailSender.sendAll(messages)));
+
+        List<Long> sentIds = messages.keySet().stream().filter(id -> !failures.containsKey(id)).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                int marked = emailOutboxRepository.markSent(sentIds, leaseUntil, LocalDateTime.now());
+                if (marked < sentIds.size()) {
+                    log.warn("E-posta giden kutusu: gönderilen {} bildirimden {} tanesinin kirası gönderim sırasında doldu; " +
+                            "bu kayıtlar başka bir gönderici tarafından yeniden alınmış olabilir.", sentIds.size(), sentIds.size() - marked);
+                }
+            }
+            for (EmailOutbox notification : group) {
+                Exception failure = failures.get(notification.getId());
+                if (failure != null) {
+                    markFailed(notification, leaseUntil, failure);
+                }
+            }
+        });
+        log.info("E-posta giden kutusu: {} bildirimden {} tanesi gönderildi, {} tanesi başarısız.", group.size(), sentIds.size(), failures.size());
+    }
+
+    private void markFailed(EmailOutbox notification, LocalDateTime leaseUntil, Exception failure) {
+        int attempts = notification.getAttempts() + 1;
+        String error = String.valueOf(failure.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        if (attempts >= maxAttempts) {
+            if (emailOutboxRepository.markFailed(notification.getId(), leaseUntil, EmailOutboxStatus.DEAD, attempts, LocalDateTime.now(), error) == 0) {
+                logLostLease(notification);
+                return;
+            }
+            log.error("{} takip numaralı kargonun e-posta bildirimi (ID: {}) {} denemeden sonra gönderilemedi, DEAD olarak işaretlendi: {}",
+                    notification.getTrackingNumber(), notification.getId(), attempts, error);
+        } else {
+            long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+            if (emailOutboxRepository.markFailed(notification.getId(), leaseUntil, EmailOutboxStatus.PENDING, attempts,
+                    LocalDateTime.now().plusNanos(backoffMs * 1_000_000), error) == 0) {
+                logLostLease(notification);
+                return;
+            }
+            log.warn("{} takip numaralı kargonun e-posta bildirimi (ID: {}) gönderilemedi, {} ms sonra tekrar denenecek ({}. deneme): {}",
+                    notification.getTrackingNumber(), notification.getId(), backoffMs, attempts, error);
+        }
+    }
+
+    private void logLostLease(EmailOutbox notification) {
+        log.warn("{} takip numaralı kargonun e-posta bildirimi (ID: {}) için kira gönderim sırasında doldu; sonuç yazılmadı.",
+                notification.getTrackingNumber(), notification.getId());
+    }
+}
@@ -1,99 +1,119 @@
 package com.ozansoyak.cargo_process_tracking.service.impl;
 
 import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
 import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus;
+import com.ozansoyak.cargo_process_tracking.repository.EmailOutboxRepository;
 import com.ozansoyak.cargo_process_tracking.service.EmailService;
+import com.ozansoyak.cargo_process_tracking.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final int MAX_STATUS_TRAIL_LENGTH = 500;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final MeterRegistry meterRegistry;
+    private final EmailTemplateRenderer emailTemplateRenderer;
 
     @Value("${spring.mail.username}")
     private String emailFrom;
 
-    @Async
-    @Override
-    public void sendChangedCargoStatusToReceiver(String toEmail, String trackingNumber, CargoStatus newStatus, Cargo cargoDetails) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(emailFrom);
-            message.setTo(toEmail);
-
-            String subject = generateEmailSubject(trackingNumber, newStatus);
-            String text = generateEmailText(trackingNumber, newStatus, cargoDetails);
-
-            message.setSubject(subject);
-            message.setText(text);
+    // Aynı kargo için bu süre içinde gelen durum değişiklikleri tek e-postada toplanır; 0 birleştirmeyi kapatır
+    @Value("${cargo.email.outbox.coalesce-window-seconds:30}")
+    private long coalesceWindowSeconds;
+
+    private Counter enqueuedCounter;
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        enqueuedCounter = Counter.builder("cargo.email.notifications")
+                .description("Giden kutusuna yeni kayıt olarak yazılan durum bildirimleri")
+                .tag("result", "enqueued")
+                .register(meterRegistry);
+        coalescedCounter = Counter.builder("cargo.email.notifications")
+                .description("Bekleyen bir bildirime eklenerek ayrı e-posta gönderilmeyen durum değişiklikleri")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("cargo.email.notifications.coalescing.ratio", this, EmailServiceImpl::coalescingRatio)
+                .description("Birleştirilen durum değişikliklerinin tüm durum değişikliklerine oranı")
+                .register(meterRegistry);
+    }
 
-            mailSender.send(message);
-            log.info("{} takip numaralı kargonun yeni durumu ({}) hakkında e-posta başarıyla {} adresine gönderildi.", trackingNumber, newStatus, toEmail);
-        } catch (Exception e) {
-            log.error("{} takip numaralı kargo için durum güncelleme e-postası oluşturulurken/gönderilirken beklenmedik bir hata oluştu (Alıcı: {}): {}", trackingNumber, toEmail, e.getMessage(), e);
+    @Override
+    @Transactional
+    public void enqueueStatusChangeNotification(Cargo cargo, CargoStatus newStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        if (coalesceWindowSeconds > 0) {
+            List<EmailOutbox> openDigests = emailOutboxRepository.findOpenDigestForUpdate(
+                    cargo.getId(), cargo.getReceiverEmail(), now.minusSeconds(coalesceWindowSeconds), Limit.of(1));
+            // Kilit beklenirken pencere kapanmış ve kayıt dağıtıcı tarafından alınmış olabilir; taze saatle tekrar bakılır
+            EmailOutbox digest = openDigests.isEmpty() || !isWindowOpen(openDigests.get(0)) ? null : openDigests.get(0);
+            String statusTrail = digest != null ? digest.getStatusTrail() + EmailOutbox.STATUS_TRAIL_SEPARATOR + newStatus.name() : null;
+            if (digest != null && statusTrail.length() <= MAX_STATUS_TRAIL_LENGTH) {
+                digest.setCargoStatus(newStatus);
+                digest.setStatusChangedAt(now);
+                digest.setStatusTrail(statusTrail);
+                TransactionCallbacks.afterCommit(coalescedCounter::increment);
+                log.debug("{} takip numaralı kargonun yeni durumu ({}) bekleyen bildirime (ID: {}) eklendi.",
+                        cargo.getTrackingNumber(), newStatus, digest.getId());
+                return;
+            }
         }
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .cargoId(cargo.getId())
+                .trackingNumber(cargo.getTrackingNumber())
+                .recipient(cargo.getReceiverEmail())
+                .receiverName(cargo.getReceiverName())
+                .receiverCity(cargo.getReceiverCity())
+                .cargoStatus(newStatus)
+                .statusChangedAt(now)
+                .statusTrail(newStatus.name())
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                // Birleştirme penceresi kapanana kadar dağıtıcı kaydı almaz
+                .nextAttemptAt(now.plusSeconds(Math.max(coalesceWindowSeconds, 0)))
+                .createdAt(now)
+                .build());
+        TransactionCallbacks.afterCommit(enqueuedCounter::increment);
+        log.debug("{} takip numaralı kargonun yeni durumu ({}) için e-posta bildirimi giden kutusuna yazıldı.", cargo.getTrackingNumber(), newStatus);
     }
 
-    private String generateEmailSubject(String trackingNumber, CargoStatus newStatus) {
-        String statusDescription = getStatusDisplayNameForEmail(newStatus);
-        return String.format("Kargo Durum Güncellemesi - Takip No: %s, Durum: %s", trackingNumber, statusDescription);
+    private boolean isWindowOpen(EmailOutbox digest) {
+        return digest.getCreatedAt().plusSeconds(coalesceWindowSeconds).isAfter(LocalDateTime.now());
     }
 
-    private String generateEmailText(String trackingNumber, CargoStatus newStatus, Cargo cargoDetails) {
-        String statusDescription = getStatusDisplayNameForEmail(newStatus);
-
-        StringBuilder textBuilder = new StringBuilder();
-        textBuilder.append(String.format("Sayın %s,\n\n", cargoDetails.getReceiverName()));
-        textBuilder.append(String.format("%s takip numaralı kargonuzun durumu güncellenmiştir.\n\n", trackingNumber));
-        textBuilder.append(String.format("Yeni Durum: %s\n", statusDescription));
-
-        switch (newStatus) {
-            case OUT_FOR_DELIVERY:
-                textBuilder.append("Kargonuz bugün teslimat için dağıtıma çıkarılmıştır.\n");
-                break;
-            case DELIVERED:
-                textBuilder.append(String.format("Kargonuz %s tarihinde başarıyla teslim edilmiştir.\n",
-                        cargoDetails.getLastUpdatedAt() != null ?
-                                cargoDetails.getLastUpdatedAt().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm")) : "belirtilen tarihte"));
-                break;
-            case AT_TRANSFER_CENTER:
-                textBuilder.append(String.format("Kargonuz %s transfer merkezine ulaşmıştır.\n", cargoDetails.getReceiverCity())); // Örnek lokasyon
-                break;
-            case CANCELLED:
-                textBuilder.append("Kargo gönderiniz iptal edilmiştir.\n");
-                break;
-            default:
-                break;
-        }
-
-        textBuilder.append("Kargo Takip Sistemi");
-
-        return textBuilder.toString();
+    private double coalescingRatio() {
+        double coalesced = coalescedCounter.count();
+        double total = coalesced + enqueuedCounter.count();
+        return total == 0 ? 0 : coalesced / total;
     }
 
-    private String getStatusDisplayNameForEmail(CargoStatus status) {
-        if (status == null) return "Bilinmiyor";
-        return switch (status) {
-            case PENDING -> "Onay Bekliyor";
-            case RECEIVED -> "Kargo Alındı";
-            case LOADED_ON_VEHICLE_1 -> "İlk Taşıma Aracına Yüklendi";
-            case AT_TRANSFER_CENTER -> "Transfer Merkezinde";
-            case LOADED_ON_VEHICLE_2 -> "Dağıtım Aracına Yüklendi";
-            case AT_DISTRIBUTION_HUB -> "Dağıtım Merkezinde";
-            case OUT_FOR_DELIVERY -> "Dağıtıma Çıkarıldı";
-            case DELIVERED -> "Teslim Edildi";
-            case CANCELLED -> "İptal Edildi";
-            default -> status.name().replace("_", " ").toLowerCase();
-        };
+    @Override
+    public SimpleMailMessage buildStatusChangeMessage(EmailOutbox notification) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(emailFrom);
+        message.setTo(notification.getRecipient());
+        message.setSubject(emailTemplateRenderer.renderSubject(notification));
+        message.setText(emailTemplateRenderer.renderBody(notification));
+        return message;
     }
-}
\ No newline at end of file
+}
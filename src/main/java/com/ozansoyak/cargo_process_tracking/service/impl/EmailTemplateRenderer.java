@@ -0,0 +1,155 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durum bildirimi e-postalarının konu ve gövde şablonları. Şablonlar uygulama açılışında her CargoStatus için
+ * sabit metin parçaları ve yer tutuculara ayrıştırılır; gönderim anında yalnızca parçalar tek bir StringBuilder'a
+ * eklenir. Durum adları ve tarih biçimlendirici de bir kez hazırlanır.
+ */
+@Component
+public class EmailTemplateRenderer {
+
+    private static final DateTimeFormatter STATUS_CHANGED_AT_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private static final String SUBJECT_TEMPLATE = "Kargo Durum Güncellemesi - Takip No: {trackingNumber}, Durum: {status}";
+    private static final String BODY_HEADER = "Sayın {receiverName},\n\n"
+            + "{trackingNumber} takip numaralı kargonuzun durumu güncellenmiştir.\n\n"
+            + "Yeni Durum: {status}\n"
+            + "{intermediateSteps}";
+    private static final String BODY_FOOTER = "Kargo Takip Sistemi";
+
+    private static final Map<CargoStatus, String> STATUS_DETAIL_LINES = new EnumMap<>(Map.of(
+            CargoStatus.OUT_FOR_DELIVERY, "Kargonuz bugün teslimat için dağıtıma çıkarılmıştır.\n",
+            CargoStatus.DELIVERED, "Kargonuz {statusChangedAt} tarihinde başarıyla teslim edilmiştir.\n",
+            CargoStatus.AT_TRANSFER_CENTER, "Kargonuz {receiverCity} transfer merkezine ulaşmıştır.\n",
+            CargoStatus.CANCELLED, "Kargo gönderiniz iptal edilmiştir.\n"
+    ));
+
+    private final Map<CargoStatus, CompiledTemplate> subjectTemplates = new EnumMap<>(CargoStatus.class);
+    private final Map<CargoStatus, CompiledTemplate> bodyTemplates = new EnumMap<>(CargoStatus.class);
+
+    public EmailTemplateRenderer() {
+        for (CargoStatus status : CargoStatus.values()) {
+            String statusName = CargoStatusPresentation.of(status).emailDisplayName();
+            subjectTemplates.put(status, CompiledTemplate.compile(SUBJECT_TEMPLATE.replace("{status}", statusName)));
+            String body = BODY_HEADER + STATUS_DETAIL_LINES.getOrDefault(status, "") + BODY_FOOTER;
+            bodyTemplates.put(status, CompiledTemplate.compile(body.replace("{status}", statusName)));
+        }
+    }
+
+    public String renderSubject(EmailOutbox notification) {
+        return subjectTemplates.get(notification.getCargoStatus()).render(notification);
+    }
+
+    public String renderBody(EmailOutbox notification) {
+        return bodyTemplates.get(notification.getCargoStatus()).render(notification);
+    }
+
+    private enum Placeholder {
+        TRACKING_NUMBER("trackingNumber"),
+        RECEIVER_NAME("receiverName"),
+        RECEIVER_CITY("receiverCity"),
+        STATUS_CHANGED_AT("statusChangedAt"),
+        INTERMEDIATE_STEPS("intermediateSteps");
+
+        private final String token;
+
+        Placeholder(String token) {
+            this.token = "{" + token + "}";
+        }
+
+        void appendTo(StringBuilder out, EmailOutbox notification) {
+            switch (this) {
+                case TRACKING_NUMBER -> out.append(notification.getTrackingNumber());
+                case RECEIVER_NAME -> out.append(notification.getReceiverName());
+                case RECEIVER_CITY -> out.append(notification.getReceiverCity());
+                case STATUS_CHANGED_AT -> {
+                    if (notification.getStatusChangedAt() != null) {
+                        STATUS_CHANGED_AT_FORMAT.formatTo(notification.getStatusChangedAt(), out);
+                    } else {
+                        out.append("belirtilen tarihte");
+                    }
+                }
+                case INTERMEDIATE_STEPS -> appendIntermediateSteps(out, notification.getStatusTrail());
+            }
+        }
+
+        // Son durum dışındaki birleştirilmiş adımlar; tek durumlu bildirimde satır hiç yazılmaz
+        private static void appendIntermediateSteps(StringBuilder out, String statusTrail) {
+            if (statusTrail == null) {
+                return;
+            }
+            int last = statusTrail.lastIndexOf(EmailOutbox.STATUS_TRAIL_SEPARATOR);
+            if (last < 0) {
+                return;
+            }
+            out.append("Ara Adımlar: ");
+            int start = 0;
+            while (start <= last) {
+                int end = statusTrail.indexOf(EmailOutbox.STATUS_TRAIL_SEPARATOR, start);
+                if (start > 0) {
+                    out.append(" → ");
+                }
+                out.append(CargoStatusPresentation.of(CargoStatus.valueOf(statusTrail.substring(start, end))).emailDisplayName());
+                start = end + 1;
+            }
+            out.append('\n');
+        }
+    }
+
+    /** Sabit metin (String) ve yer tutucu (Placeholder) parçalarından oluşan, önceden ayrıştırılmış şablon. */
+    private record CompiledTemplate(List<Object> parts, int estimatedLength) {
+
+        static CompiledTemplate compile(String template) {
+            List<Object> parts = new ArrayList<>();
+            int literalLength = 0;
+            int position = 0;
+            while (position < template.length()) {
+                int next = -1;
+                Placeholder found = null;
+                for (Placeholder placeholder : Placeholder.values()) {
+                    int index = template.indexOf(placeholder.token, position);
+                    if (index >= 0 && (next < 0 || index < next)) {
+                        next = index;
+                        found = placeholder;
+                    }
+                }
+                if (found == null) {
+                    parts.add(template.substring(position));
+                    literalLength += template.length() - position;
+                    break;
+                }
+                if (next > position) {
+                    parts.add(template.substring(position, next));
+                    literalLength += next - position;
+                }
+                parts.add(found);
+                position = next + found.token.length();
+            }
+            // Yer tutucular için kaba bir pay; StringBuilder'ın büyürken kopyalanmasını çoğu mesajda önler
+            return new CompiledTemplate(Collections.unmodifiableList(parts), literalLength + 64 * parts.size());
+        }
+
+        String render(EmailOutbox notification) {
+            StringBuilder out = new StringBuilder(estimatedLength);
+            for (Object part : parts) {
+                if (part instanceof Placeholder placeholder) {
+                    placeholder.appendTo(out, notification);
+                } else {
+                    out.append((String) part);
+                }
+            }
+            return out.toString();
+        }
+    }
+}
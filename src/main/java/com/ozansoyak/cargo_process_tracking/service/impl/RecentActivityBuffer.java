@@ -0,0 +1,57 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.dto.CargoStatusTransitionEvent;
+import com.ozansoyak.cargo_process_tracking.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Panel akışı için son durum değişikliklerini tutan sabit boyutlu, kilitsiz halka tampon.
+ * Yazarlar sıradaki slotu atomik sayaçla alır; okuyucular en yeni kayıttan geriye doğru okur
+ * ve bu arada üzerine yazılmış slotları atlar.
+ */
+@Component
+public class RecentActivityBuffer {
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public RecentActivityBuffer(@Value("${cargo.recent-activity.capacity:64}") int capacity) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    public void publish(CargoStatusTransitionEvent event) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence % slots.length()), new Slot(sequence, event));
+    }
+
+    public void publishAfterCommit(CargoStatusTransitionEvent event) {
+        TransactionCallbacks.afterCommit(() -> publish(event));
+    }
+
+    public boolean isEmpty() {
+        return nextSequence.get() == 0;
+    }
+
+    public List<CargoStatusTransitionEvent> latest(int limit) {
+        long newest = nextSequence.get() - 1;
+        long oldest = Math.max(0, newest - Math.min(limit, slots.length()) + 1);
+        List<CargoStatusTransitionEvent> events = new ArrayList<>(limit);
+        for (long sequence = newest; sequence >= oldest; sequence--) {
+            Slot slot = slots.get((int) (sequence % slots.length()));
+            // Slot henüz yazılmamış ya da daha yeni bir kayıtla ezilmiş olabilir
+            if (slot != null && slot.sequence == sequence) {
+                events.add(slot.event);
+            }
+        }
+        return events;
+    }
+
+    private record Slot(long sequence, CargoStatusTransitionEvent event) {
+    }
+}
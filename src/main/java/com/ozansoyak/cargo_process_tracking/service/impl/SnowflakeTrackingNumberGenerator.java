@@ -0,0 +1,134 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.exception.TrackingNumberGenerationException;
+import com.ozansoyak.cargo_process_tracking.service.TrackingNumberGenerator;
+import com.ozansoyak.cargo_process_tracking.service.TrackingNumberLeaseStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Veritabanına sormadan benzersiz takip numarası üretir.
+ * Format: yyMM (4) + düğüm no (3) + ay içindeki saniye (7) + sayaç (3) + Luhn kontrol hanesi (1).
+ * Aynı saniyede sayaç dolarsa bir sonraki saniyeden "ödünç" alınır; saat geri giderse
+ * son verilen değerden devam edilir. Düğüm numarası her uygulama örneği için farklı olmalıdır.
+ * Numaralar, veritabanında düğüm başına tutulan kira aralığının içinden verilir. Ödünç alınmış saniyeler henüz
+ * gelmeden uygulama yeniden başlarsa ya da saat geri alınırsa üretici kira sınırından devam eder.
+ */
+@Component
+@Slf4j
+public class SnowflakeTrackingNumberGenerator implements TrackingNumberGenerator {
+
+    public static final int MAX_NODE_ID = 999;
+    static final int COUNTER_SPACE = 1000;
+    // Veritabanına her bu kadar saniyede (ödünç alınanlar dahil) bir gidilir
+    static final long LEASE_SECONDS = 60;
+
+    private final int nodeId;
+    private final Clock clock;
+    private final TrackingNumberLeaseStore leaseStore;
+    // epochSecond * COUNTER_SPACE + sayaç; son verilen değeri tutar.
+    private final AtomicLong lastIssued = new AtomicLong();
+    // Kiralanmış aralığın sonu, aynı birimde ve hariç; bu değere ulaşan numara için önce yeni aralık ayrılır
+    private volatile long leasedUntil;
+
+    @Autowired
+    public SnowflakeTrackingNumberGenerator(@Value("${cargo.tracking-number.node-id:0}") int nodeId,
+                                            @Value("${cargo.tracking-number.zone:Europe/Istanbul}") String zoneId,
+                                            TrackingNumberLeaseStore leaseStore) {
+        this(nodeId, Clock.system(ZoneId.of(zoneId)), leaseStore);
+    }
+
+    public SnowflakeTrackingNumberGenerator(int nodeId, Clock clock, TrackingNumberLeaseStore leaseStore) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new TrackingNumberGenerationException("Takip numarası düğüm numarası 0-" + MAX_NODE_ID + " aralığında olmalı: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+        this.leaseStore = leaseStore;
+        log.info("Takip numarası üreticisi başlatıldı. Düğüm: {}, Saat dilimi: {}", nodeId, clock.getZone());
+    }
+
+    @Override
+    public String nextTrackingNumber() {
+        long nowSlot = clock.instant().getEpochSecond() * COUNTER_SPACE;
+        long issued;
+        while (true) {
+            long last = lastIssued.get();
+            issued = Math.max(last + 1, nowSlot);
+            if (issued >= leasedUntil) {
+                renewLease(issued);
+                continue;
+            }
+            if (lastIssued.compareAndSet(last, issued)) {
+                break;
+            }
+        }
+        return format(issued / COUNTER_SPACE, (int) (issued % COUNTER_SPACE));
+    }
+
+    private synchronized void renewLease(long issued) {
+        if (issued < leasedUntil) {
+            return;
+        }
+        long rangeStart = leaseStore.reserve(nodeId, issued / COUNTER_SPACE, LEASE_SECONDS);
+        // Önceki çalışma bu saniyeye kadar numara vermiş olabilir; sayaç aralığın başına atlar
+        lastIssued.accumulateAndGet(rangeStart * COUNTER_SPACE - 1, Math::max);
+        leasedUntil = (rangeStart + LEASE_SECONDS) * COUNTER_SPACE;
+    }
+
+    private String format(long epochSecond, int counter) {
+        ZonedDateTime time = Instant.ofEpochSecond(epochSecond).atZone(clock.getZone());
+        ZonedDateTime monthStart = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+        long secondOfMonth = epochSecond - monthStart.toEpochSecond();
+
+        StringBuilder sb = new StringBuilder(18);
+        appendPadded(sb, time.getYear() % 100, 2);
+        appendPadded(sb, time.getMonthValue(), 2);
+        appendPadded(sb, nodeId, 3);
+        appendPadded(sb, secondOfMonth, 7);
+        appendPadded(sb, counter, 3);
+        sb.append(luhnCheckDigit(sb));
+        return sb.toString();
+    }
+
+    private static void appendPadded(StringBuilder sb, long value, int width) {
+        String digits = Long.toString(value);
+        for (int i = digits.length(); i < width; i++) {
+            sb.append('0');
+        }
+        sb.append(digits);
+    }
+
+    static int luhnCheckDigit(CharSequence digits) {
+        int sum = 0;
+        boolean doubleIt = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubleIt) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleIt = !doubleIt;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    public static boolean isValid(String trackingNumber) {
+        if (trackingNumber == null || trackingNumber.length() != 18 || !trackingNumber.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        return luhnCheckDigit(trackingNumber.substring(0, 17)) == trackingNumber.charAt(17) - '0';
+    }
+}
@@ -0,0 +1,78 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ozansoyak.cargo_process_tracking.dto.TrackingInfoResponse;
+import com.ozansoyak.cargo_process_tracking.util.TransactionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Takip sorgularının ({@code /track}, detay modalı) sonucunu takip numarasına göre tutan önbellek.
+ * Kayıtlar durum değişikliği, görev tamamlama ve iptal işlemlerinde commit sonrası silinir; TTL yalnızca
+ * gözden kaçan değişiklikler için üst sınırdır. İsabet/kaçırma/tahliye metrikleri "trackingInfo" adıyla yayınlanır.
+ */
+@Component
+@Slf4j
+public class TrackingInfoCache {
+
+    public static final String CACHE_NAME = "trackingInfo";
+
+    private final AsyncCache<String, TrackingInfoResponse> cache;
+
+    public TrackingInfoCache(MeterRegistry meterRegistry,
+                             @Value("${cargo.tracking-cache.ttl-seconds:60}") long ttlSeconds,
+                             @Value("${cargo.tracking-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * Kayıt yoksa yükleyiciyi çağıran iş parçacığında çalıştırır. Haritaya yalnızca yükleme sürerken bekleyen bir
+     * future konur; veritabanı işi Caffeine'in kilitleri dışında yapılır. Aynı anahtar için eşzamanlı istekler bu
+     * future'ı bekler. Yükleme sürerken gelen silme işlemi future'ı kaldırır, böylece commit öncesi okunmuş sonuç
+     * sonraki isteklere verilmez.
+     */
+    public TrackingInfoResponse get(String trackingNumber, Function<String, TrackingInfoResponse> loader) {
+        CompletableFuture<TrackingInfoResponse> pending = new CompletableFuture<>();
+        CompletableFuture<TrackingInfoResponse> existing = cache.get(trackingNumber, (key, executor) -> pending);
+        if (existing != pending) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            TrackingInfoResponse response = loader.apply(trackingNumber);
+            pending.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            // Başarısız future'ı AsyncCache kendisi kaldırır
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidateAfterCommit(String trackingNumber) {
+        if (trackingNumber == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            cache.synchronous().invalidate(trackingNumber);
+            log.debug("Takip bilgisi önbellekten silindi: {}", trackingNumber);
+        });
+    }
+}
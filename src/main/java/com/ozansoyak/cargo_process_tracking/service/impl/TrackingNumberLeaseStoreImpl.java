@@ -0,0 +1,46 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.TrackingNumberLease;
+import com.ozansoyak.cargo_process_tracking.repository.TrackingNumberLeaseRepository;
+import com.ozansoyak.cargo_process_tracking.service.TrackingNumberLeaseStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrackingNumberLeaseStoreImpl implements TrackingNumberLeaseStore {
+
+    private final TrackingNumberLeaseRepository trackingNumberLeaseRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate leaseTransactionTemplate;
+
+    @PostConstruct
+    void initTransactionTemplate() {
+        // Kira, numarayı isteyen kargo transaction'ı geri alınsa da kalıcı olmalıdır
+        leaseTransactionTemplate = new TransactionTemplate(transactionManager);
+        leaseTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long reserve(int nodeId, long fromEpochSecond, long seconds) {
+        return leaseTransactionTemplate.execute(status -> {
+            TrackingNumberLease lease = trackingNumberLeaseRepository.findForUpdate(nodeId)
+                    .orElseGet(() -> new TrackingNumberLease(nodeId, 0L));
+            long rangeStart = Math.max(lease.getLeasedUntilEpochSecond(), fromEpochSecond);
+            if (rangeStart > fromEpochSecond) {
+                log.info("Takip numarası kirası saatin {} sn ilerisinde (düğüm {}); önceden verilmiş numaralar tekrar üretilmeyecek.",
+                        rangeStart - fromEpochSecond, nodeId);
+            }
+            lease.setLeasedUntilEpochSecond(rangeStart + seconds);
+            trackingNumberLeaseRepository.save(lease);
+            return rangeStart;
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.ozansoyak.cargo_process_tracking.util;
+
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Kargo arama kolonunu ({@code search_text}) ve arama terimlerini aynı kurallarla normalize eder:
+ * Türkçe kurallarıyla küçük harf, aksan/diakritik temizliği ("Şükrü" -> "sukru"), tek boşluk
+ * ve telefonlar için yalnızca rakamlar. Alanlar arama sırasında birleşmesin diye '|' ile ayrılır.
+ */
+public final class SearchTextNormalizer {
+
+    public static final char FIELD_SEPARATOR = '|';
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern PHONE_LIKE = Pattern.compile("[0-9+()\\-\\s]+");
+
+    private SearchTextNormalizer() {
+    }
+
+    public static String buildSearchText(String senderName, String receiverName, String senderPhone, String receiverPhone) {
+        return Arrays.asList(normalize(senderName), normalize(receiverName), digitsOnly(senderPhone), digitsOnly(receiverPhone)).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(String.valueOf(FIELD_SEPARATOR)));
+    }
+
+    /** Kullanıcının girdiği müşteri bilgisini kolondaki biçime çevirir; telefon gibi görünen girdilerde yalnızca rakamlar kalır. */
+    public static String normalizeQuery(String query) {
+        if (!StringUtils.hasText(query)) {
+            return null;
+        }
+        String trimmed = query.trim();
+        if (PHONE_LIKE.matcher(trimmed).matches() && NON_DIGITS.matcher(trimmed).replaceAll("").length() > 0) {
+            return digitsOnly(trimmed);
+        }
+        String normalized = normalize(trimmed.replace(FIELD_SEPARATOR, ' '));
+        return StringUtils.hasText(normalized) ? normalized : null;
+    }
+
+    /** LIKE '%...%' deseni üretir; % ve _ karakterleri '\' ile kaçırılır. */
+    public static String toContainsPattern(String normalizedQuery) {
+        String escaped = normalizedQuery.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    static String normalize(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        String lower = value.toLowerCase(TURKISH).replace('ı', 'i');
+        String withoutMarks = COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutMarks).replaceAll(" ").trim();
+    }
+
+    static String digitsOnly(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        String digits = NON_DIGITS.matcher(value).replaceAll("");
+        return digits.isEmpty() ? null : digits;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ozansoyak.cargo_process_tracking.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Aktif bir transaction varsa işlemi commit sonrasına erteler, yoksa hemen çalıştırır.
+     * Bellekteki sayaç/önbellek gibi yapıların geri alınan değişikliklerle bozulmaması için kullanılır.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package db.migration.postgresql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sorgu desenlerine göre ayarlanmış indeksleri CREATE INDEX CONCURRENTLY ile, transaction dışında oluşturur; büyük
+ * tablolarda indeks kurulurken yazmalar engellenmez. Yarıda kalan eşzamanlı kurulum geçersiz (INVALID) bir indeks
+ * bırakır; IF NOT EXISTS bunu atlayacağından böyle bir indeks önce kaldırılıp yeniden kurulur.
+ */
+@Slf4j
+public class V2_1__Cargo_query_indexes_concurrently extends BaseJavaMigration {
+
+    // Teslim edilmiş/iptal edilmiş kargolar tablonun büyük ve sürekli büyüyen kısmıdır; yalnızca süreçteki kargolarla
+    // çalışan sorgular için kısmi indeksler bu satırları dışarıda bırakır
+    private static final Map<String, String> INDEXES = new LinkedHashMap<>();
+
+    static {
+        // Durum filtresiyle arama ve toplu iptal: (durum, lastUpdatedAt, id) sırası sayfa ve keyset sıralamasıyla aynıdır
+        INDEXES.put("idx_cargos_active_status_last_updated_at_id",
+                "ON cargos (current_status, last_updated_at, id) WHERE current_status NOT IN ('DELIVERED', 'CANCELLED')");
+        // Camunda süreç örneğinden kargoya çapraz başvuru (findByProcessInstanceIdIn); süreci başlamamış kargolar indekse girmez
+        INDEXES.put("idx_cargos_process_instance_id",
+                "ON cargos (process_instance_id) WHERE process_instance_id IS NOT NULL");
+        // Zamanı gelmiş bildirimler id sırasıyla okunur (findDueForUpdate); (durum, id) sırası LIMIT ile erken durmayı sağlar
+        INDEXES.put("idx_email_outbox_status_id",
+                "ON email_outbox (status, id)");
+        // Birleştirme penceresi açık bildirim araması (findOpenDigestForUpdate); gönderilmiş kayıtlar indekse girmez
+        INDEXES.put("idx_email_outbox_open_digest",
+                "ON email_outbox (cargo_id, recipient) WHERE status = 'PENDING' AND attempts = 0");
+    }
+
+    // Müşteri araması ('%terim%') için trigram indeksi; pg_trgm V2'de kurulamadıysa arama indekssiz çalışır
+    private static final String SEARCH_TEXT_TRIGRAM_INDEX = "idx_cargos_search_text_trgm";
+    private static final String SEARCH_TEXT_TRIGRAM_DEFINITION = "ON cargos USING gin (search_text gin_trgm_ops)";
+
+    // (status, id) indeksiyle yerini alan eski indeks
+    private static final String REPLACED_OUTBOX_INDEX = "idx_email_outbox_status_next_attempt";
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, String> index : INDEXES.entrySet()) {
+                createIndexConcurrently(connection, statement, index.getKey(), index.getValue());
+            }
+            if (isExtensionInstalled(connection, "pg_trgm")) {
+                createIndexConcurrently(connection, statement, SEARCH_TEXT_TRIGRAM_INDEX, SEARCH_TEXT_TRIGRAM_DEFINITION);
+            } else {
+                log.warn("pg_trgm eklentisi yok, {} oluşturulmadı; kargo araması trigram indeksi olmadan çalışacak.", SEARCH_TEXT_TRIGRAM_INDEX);
+            }
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + REPLACED_OUTBOX_INDEX);
+        }
+    }
+
+    private static void createIndexConcurrently(Connection connection, Statement statement, String name, String definition) throws SQLException {
+        if (isInvalidIndex(connection, name)) {
+            log.warn("Yarıda kalmış geçersiz indeks ({}) kaldırılıp yeniden oluşturuluyor.", name);
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+        }
+        statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " " + definition);
+    }
+
+    private static boolean isInvalidIndex(Connection connection, String name) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("SELECT NOT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)")) {
+            query.setString(1, name);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static boolean isExtensionInstalled(Connection connection, String extension) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement("SELECT 1 FROM pg_extension WHERE extname = ?")) {
+            query.setString(1, extension);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package db.migration.postgresql;
+
+import com.ozansoyak.cargo_process_tracking.util.SearchTextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * search_text kolonu eklenmeden önce oluşturulmuş kargoların arama kolonunu bir kez doldurur. Değer Java tarafındaki
+ * SearchTextNormalizer ile üretildiğinden SQL göçüyle doldurulamaz. Kayıtlar id sırasıyla, keyset ile sayfalanır.
+ */
+@Slf4j
+public class V4__Backfill_cargo_search_text extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SELECT_MISSING_SEARCH_TEXT_SQL = "SELECT id, sender_name, receiver_name, sender_phone, receiver_phone " +
+            "FROM cargos WHERE search_text IS NULL AND id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+
+    private static final String UPDATE_SEARCH_TEXT_SQL = "UPDATE cargos SET search_text = ? WHERE id = ?";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        long lastId = 0;
+        int total = 0;
+        int batchCount;
+        try (PreparedStatement select = connection.prepareStatement(SELECT_MISSING_SEARCH_TEXT_SQL);
+             PreparedStatement update = connection.prepareStatement(UPDATE_SEARCH_TEXT_SQL)) {
+            do {
+                batchCount = 0;
+                select.setLong(1, lastId);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        lastId = rs.getLong("id");
+                        update.setString(1, SearchTextNormalizer.buildSearchText(rs.getString("sender_name"), rs.getString("receiver_name"),
+                                rs.getString("sender_phone"), rs.getString("receiver_phone")));
+                        update.setLong(2, lastId);
+                        update.addBatch();
+                        batchCount++;
+                    }
+                }
+                if (batchCount > 0) {
+                    update.executeBatch();
+                    total += batchCount;
+                }
+            } while (batchCount == BATCH_SIZE);
+        }
+        if (total > 0) {
+            log.info("{} kargo kaydı için arama kolonu (search_text) dolduruldu.", total);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- ddl-auto ile kurulmuş veritabanları 0 sürümüyle başlatılır ve V1'deki CREATE TABLE IF NOT EXISTS ifadeleri mevcut
+-- tabloları olduğu gibi bırakır. İlk şemadan sonra entity'lere eklenen kolonlar bu tablolarda eksik kalabileceğinden
+-- burada eklenir; yeni kurulan veritabanlarında kolonlar V1'den geldiği için bu ifadeler etkisizdir.
+
+-- Müşteri araması için normalize edilmiş kolon; mevcut kayıtlar V4'te doldurulur, trigram indeksi V2_1'de kurulur
+ALTER TABLE cargos ADD COLUMN IF NOT EXISTS search_text varchar(600);
+
+-- Birleştirilmiş bildirimin ara adımları; eski bildirimlerde yalnızca kendi durumları bulunur
+ALTER TABLE email_outbox ADD COLUMN IF NOT EXISTS status_trail varchar(500);
+UPDATE email_outbox SET status_trail = cargo_status WHERE status_trail IS NULL;
+ALTER TABLE email_outbox ALTER COLUMN status_trail SET NOT NULL;
@@ -0,0 +1,87 @@
+-- Uygulama tablolarının başlangıç şeması (daha önce ddl-auto: update ile oluşturulan yapı).
+-- ddl-auto ile kurulmuş mevcut veritabanlarında tablolar zaten bulunduğundan IF NOT EXISTS ile atlanır.
+-- Camunda tabloları bu göçlerin kapsamında değildir; onları süreç motoru kendisi kurar.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id          bigint       NOT NULL,
+    email       varchar(255),
+    password    varchar(255),
+    user_type   varchar(255),
+    is_enabled  boolean,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT ck_users_user_type CHECK (user_type IN ('ADMIN', 'PERSONNEL'))
+);
+
+CREATE TABLE IF NOT EXISTS cargos (
+    id                  bigint GENERATED BY DEFAULT AS IDENTITY,
+    tracking_number     varchar(50)  NOT NULL,
+    sender_name         varchar(255) NOT NULL,
+    sender_address      varchar(500) NOT NULL,
+    sender_city         varchar(100) NOT NULL,
+    sender_phone        varchar(20)  NOT NULL,
+    sender_email        varchar(255),
+    receiver_name       varchar(255) NOT NULL,
+    receiver_address    varchar(500) NOT NULL,
+    receiver_city       varchar(100) NOT NULL,
+    receiver_phone      varchar(20)  NOT NULL,
+    receiver_email      varchar(255),
+    weight              float(53)    NOT NULL,
+    dimensions          varchar(50),
+    content_description varchar(255) NOT NULL,
+    current_status      varchar(50)  NOT NULL,
+    process_instance_id varchar(255),
+    created_at          timestamp(6) NOT NULL,
+    last_updated_at     timestamp(6) NOT NULL,
+    search_text         varchar(600),
+    CONSTRAINT pk_cargos PRIMARY KEY (id),
+    CONSTRAINT uk_cargos_tracking_number UNIQUE (tracking_number),
+    CONSTRAINT ck_cargos_current_status CHECK (current_status IN ('PENDING', 'RECEIVED', 'LOADED_ON_VEHICLE_1', 'AT_TRANSFER_CENTER',
+        'LOADED_ON_VEHICLE_2', 'AT_DISTRIBUTION_HUB', 'OUT_FOR_DELIVERY', 'DELIVERED', 'CANCELLED'))
+);
+
+CREATE TABLE IF NOT EXISTS cargo_status_event (
+    id                   bigint GENERATED BY DEFAULT AS IDENTITY,
+    cargo_id             bigint       NOT NULL,
+    status               varchar(50)  NOT NULL,
+    activity_id          varchar(100),
+    activity_name        varchar(255),
+    activity_instance_id varchar(64),
+    process_instance_id  varchar(64),
+    occurred_at          timestamp(6) NOT NULL,
+    CONSTRAINT pk_cargo_status_event PRIMARY KEY (id),
+    CONSTRAINT fk_cargo_status_event_cargo FOREIGN KEY (cargo_id) REFERENCES cargos (id),
+    CONSTRAINT uk_cargo_status_event_activity_instance UNIQUE (activity_instance_id),
+    CONSTRAINT ck_cargo_status_event_status CHECK (status IN ('PENDING', 'RECEIVED', 'LOADED_ON_VEHICLE_1', 'AT_TRANSFER_CENTER',
+        'LOADED_ON_VEHICLE_2', 'AT_DISTRIBUTION_HUB', 'OUT_FOR_DELIVERY', 'DELIVERED', 'CANCELLED'))
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY,
+    cargo_id          bigint        NOT NULL,
+    tracking_number   varchar(50)   NOT NULL,
+    recipient         varchar(255)  NOT NULL,
+    receiver_name     varchar(255),
+    receiver_city     varchar(100),
+    cargo_status      varchar(50)   NOT NULL,
+    status_changed_at timestamp(6)  NOT NULL,
+    status_trail      varchar(500)  NOT NULL,
+    status            varchar(20)   NOT NULL,
+    attempts          integer       NOT NULL,
+    next_attempt_at   timestamp(6)  NOT NULL,
+    last_error        varchar(1000),
+    created_at        timestamp(6)  NOT NULL,
+    sent_at           timestamp(6),
+    CONSTRAINT pk_email_outbox PRIMARY KEY (id),
+    CONSTRAINT ck_email_outbox_status CHECK (status IN ('PENDING', 'SENT', 'DEAD')),
+    CONSTRAINT ck_email_outbox_cargo_status CHECK (cargo_status IN ('PENDING', 'RECEIVED', 'LOADED_ON_VEHICLE_1', 'AT_TRANSFER_CENTER',
+        'LOADED_ON_VEHICLE_2', 'AT_DISTRIBUTION_HUB', 'OUT_FOR_DELIVERY', 'DELIVERED', 'CANCELLED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_cargos_last_updated_at_id ON cargos (last_updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_cargo_status_event_cargo_occurred ON cargo_status_event (cargo_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,13 @@
+-- Sorgu desenlerine göre ayarlanmış indeksler V2_1'de (V2_1__Cargo_query_indexes_concurrently) CREATE INDEX CONCURRENTLY
+-- ile, transaction dışında oluşturulur; böylece büyük tablolarda indeks kurulurken yazmalar engellenmez.
+
+-- Müşteri araması ('%terim%') için search_text üzerindeki trigram indeksinin eklentisi. Eklenti için yetki yoksa göç
+-- başarısız olmaz; arama yine çalışır, yalnızca indekssiz kalır.
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION
+    WHEN insufficient_privilege OR undefined_file THEN
+        RAISE WARNING 'pg_trgm eklentisi oluşturulamadı, kargo araması trigram indeksi olmadan çalışacak: %', SQLERRM;
+END
+$$;
@@ -0,0 +1,11 @@
+-- Kargo id'leri artık Hibernate'in havuzlu sequence üretecinden gelir (Cargo.id, allocationSize = 50). Id süreç
+-- başlamadan önce bilindiği için kargo satırı süreç örneği id'siyle birlikte tek insert olarak yazılır.
+-- INCREMENT BY, allocationSize ile aynı olmalıdır; Hibernate açılışta bu uyumu doğrular.
+CREATE SEQUENCE IF NOT EXISTS cargos_seq START WITH 1 INCREMENT BY 50;
+
+-- Havuzlu üreteç nextval'in döndürdüğü değerin altındaki 50 id'yi kullanır; sıradaki havuz mevcut en büyük id'nin üstünde başlar
+SELECT setval('cargos_seq', COALESCE((SELECT max(id) FROM cargos), 0) + 1);
+
+-- Id artık her zaman uygulama tarafından verilir. Varsayılan değer bırakılmaz: kimlik kolonu ya da nextval varsayılanı
+-- Hibernate'in ayırdığı havuzlarla çakışan id'ler üretebilirdi
+ALTER TABLE cargos ALTER COLUMN id DROP IDENTITY IF EXISTS;
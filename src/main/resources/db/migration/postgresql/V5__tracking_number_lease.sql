@@ -0,0 +1,8 @@
+-- Takip numarası üreticisinin düğüm başına kirası: düğüm, leased_until_epoch_second'dan önceki saniyeler için numara
+-- verebilir. Sayaç dolduğunda ileriki saniyelerden ödünç alındığı için, yeniden başlayan ya da saati geri alınan bir
+-- düğüm bu sınırdan devam eder ve daha önce verdiği numaraları tekrar üretmez.
+CREATE TABLE IF NOT EXISTS tracking_number_lease (
+    node_id                   integer NOT NULL,
+    leased_until_epoch_second bigint  NOT NULL,
+    CONSTRAINT pk_tracking_number_lease PRIMARY KEY (node_id)
+);
@@ -0,0 +1,54 @@
+package com.ozansoyak.cargo_process_tracking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Prometheus ve diğer ölçüm uç noktaları HTTP Basic ile kimlik ister; sağlık kontrolü herkese açık kalır.
+ */
+@SpringBootTest(properties = "camunda.bpm.job-execution.enabled=false")
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ActuatorSecurityTest {
+
+    // DataInitializer'ın oluşturduğu başlangıç admin kullanıcısı
+    private static final String ADMIN_CREDENTIALS = "ozan.soyak@hotmail.com:123456";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void metricEndpointsRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics/cargo.camunda.jobs.executable"))
+                .andExpect(status().isUnauthorized());
+
+        // Testlerde Prometheus dışa aktarımı kapalıdır; kimlikli erişim aynı zincirdeki metrics uç noktasıyla doğrulanır
+        mockMvc.perform(get("/actuator/metrics/cargo.camunda.jobs.executable")
+                        .header(HttpHeaders.AUTHORIZATION, "Basic " + Base64.getEncoder().encodeToString(ADMIN_CREDENTIALS.getBytes(StandardCharsets.UTF_8))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("cargo.camunda.jobs.executable")));
+    }
+
+    @Test
+    void healthStaysPublic() throws Exception {
+        // Test ortamında SMTP sunucusu olmadığından durum DOWN (503) olabilir; önemli olan kimlik istenmemesidir
+        int status = mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus();
+        assertThat(status).isIn(200, 503);
+    }
+}
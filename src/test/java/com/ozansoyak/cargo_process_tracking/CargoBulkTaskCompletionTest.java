@@ -0,0 +1,99 @@
+package com.ozansoyak.cargo_process_tracking;
+
+import com.ozansoyak.cargo_process_tracking.dto.BulkTaskCompletionItemResult;
+import com.ozansoyak.cargo_process_tracking.dto.BulkTaskCompletionResponse;
+import com.ozansoyak.cargo_process_tracking.dto.CargoResponse;
+import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Toplu görev tamamlamada bir chunk geri alındığında görevlerin tek tek yeniden denendiğini ve yalnızca hatalı
+ * görevin başarısız sayıldığını doğrular. İş yürütücü kapalıdır; asenkron işler test içinden çalıştırılır.
+ */
+@SpringBootTest(properties = "camunda.bpm.job-execution.enabled=false")
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class CargoBulkTaskCompletionTest {
+
+    @Autowired
+    private CargoService cargoService;
+    @Autowired
+    private RuntimeService runtimeService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ManagementService managementService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void failedChunkFallsBackToPerItemCompletion() {
+        List<CargoResponse> cargos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cargos.add(cargoService.createCargoAndStartProcess(cargoRequest()));
+        }
+        List<String> trackingNumbers = cargos.stream().map(CargoResponse::getTrackingNumber).toList();
+        cargos.forEach(cargo -> executeJobs(cargo.getProcessInstanceId()));
+        assertThat(cargoService.completeTasksInBulk("userTask_PhysicalReception", trackingNumbers, null).getSuccessCount()).isEqualTo(3);
+        assertThat(cargoService.completeTasksInBulk("userTask_InvoiceCreation", trackingNumbers, null).getSuccessCount()).isEqualTo(3);
+        cargos.forEach(cargo -> executeJobs(cargo.getProcessInstanceId()));
+
+        // Ortadaki sürecin iptal geçidi koşulu çözülemez; aynı chunk'taki üç görevin birlikte tamamlanması geri alınır
+        CargoResponse broken = cargos.get(1);
+        runtimeService.removeVariable(broken.getProcessInstanceId(), "isCancelled");
+
+        BulkTaskCompletionResponse response = cargoService.completeTasksInBulk("userTask_ConfirmReceived", trackingNumbers, null);
+
+        assertThat(response.getSuccessCount()).isEqualTo(2);
+        assertThat(response.getFailureCount()).isEqualTo(1);
+        assertThat(response.getItems()).extracting(BulkTaskCompletionItemResult::isSuccess).containsExactly(true, false, true);
+        assertThat(response.getItems().get(1).getMessage()).startsWith("Görev tamamlanamadı");
+        // Hatalı görev açık kalır, diğerleri bir sonraki durum güncelleme adımına geçer
+        assertThat(activeTaskKeys(broken.getProcessInstanceId())).containsExactly("userTask_ConfirmReceived");
+        for (CargoResponse cargo : List.of(cargos.get(0), cargos.get(2))) {
+            assertThat(activeTaskKeys(cargo.getProcessInstanceId())).isEmpty();
+            assertThat(managementService.createJobQuery().processInstanceId(cargo.getProcessInstanceId()).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void bulkCompletionRequiresAuthentication() throws Exception {
+        mockMvc.perform(post("/api/cargos/complete-step/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"taskDefinitionKey\":\"userTask_PhysicalReception\",\"trackingNumbers\":[\"1\"]}"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    private List<String> activeTaskKeys(String processInstanceId) {
+        return taskService.createTaskQuery().processInstanceId(processInstanceId).active().list().stream()
+                .map(Task::getTaskDefinitionKey)
+                .toList();
+    }
+
+    private void executeJobs(String processInstanceId) {
+        List<Job> jobs;
+        while (!(jobs = managementService.createJobQuery().processInstanceId(processInstanceId).executable().list()).isEmpty()) {
+            jobs.forEach(job -> managementService.executeJob(job.getId()));
+        }
+    }
+}
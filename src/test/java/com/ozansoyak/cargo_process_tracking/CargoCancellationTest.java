@@ -0,0 +1,239 @@
+package com.ozansoyak.cargo_process_tracking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ozansoyak.cargo_process_tracking.dto.BulkCancellationProgress;
+import com.ozansoyak.cargo_process_tracking.dto.BulkCancellationRequest;
+import com.ozansoyak.cargo_process_tracking.dto.BulkCancellationResponse;
+import com.ozansoyak.cargo_process_tracking.dto.BulkCancellationSkippedItem;
+import com.ozansoyak.cargo_process_tracking.dto.CargoResponse;
+import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
+import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.runtime.Job;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * İptalin, sürecin hangi noktasında beklediğinden bağımsız olarak sürece yansıdığını doğrular. İş yürütücü
+ * kapalıdır; asenkron işler test içinden tek tek çalıştırılır, böylece "adımlar arası" an kesin olarak yakalanır.
+ */
+@SpringBootTest(properties = "camunda.bpm.job-execution.enabled=false")
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class CargoCancellationTest {
+
+    @Autowired
+    private CargoService cargoService;
+    @Autowired
+    private CargoRepository cargoRepository;
+    @Autowired
+    private RuntimeService runtimeService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ManagementService managementService;
+    @Autowired
+    private HistoryService historyService;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void cancelsWhileStatusUpdateJobIsPendingBetweenSteps() {
+        CargoResponse cargo = cargoService.createCargoAndStartProcess(cargoRequest());
+        String processInstanceId = cargo.getProcessInstanceId();
+        executeJobs(processInstanceId);
+        cargoService.completeUserTaskAndPrepareNextStep(cargo.getTrackingNumber(), "userTask_PhysicalReception", null);
+        cargoService.completeUserTaskAndPrepareNextStep(cargo.getTrackingNumber(), "userTask_InvoiceCreation", null);
+
+        // Kabul görevleri bitti, "Kargo Alındı" durum güncelleme işi bekliyor; açık kullanıcı görevi yok
+        assertThat(taskService.createTaskQuery().processInstanceId(processInstanceId).count()).isZero();
+        assertThat(jobActivityIds(processInstanceId)).containsExactly("task_UpdateStatusReceived");
+
+        cargoService.cancelCargoProcess(cargo.getTrackingNumber());
+
+        assertThat(jobActivityIds(processInstanceId)).containsExactly("task_UpdateStatusCancelledByMessage");
+        executeJobs(processInstanceId);
+        assertCancelled(cargo);
+        assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId)
+                .activityId("task_UpdateStatusReceived").count()).isZero();
+    }
+
+    @Test
+    void cancelsBeforeTheStartJobRan() {
+        CargoResponse cargo = cargoService.createCargoAndStartProcess(cargoRequest());
+
+        cargoService.cancelCargoProcess(cargo.getTrackingNumber());
+
+        executeJobs(cargo.getProcessInstanceId());
+        assertCancelled(cargo);
+    }
+
+    @Test
+    void cancelsWhileUserTaskIsOpen() {
+        CargoResponse cargo = cargoService.createCargoAndStartProcess(cargoRequest());
+        executeJobs(cargo.getProcessInstanceId());
+        assertThat(taskService.createTaskQuery().processInstanceId(cargo.getProcessInstanceId()).count()).isEqualTo(2);
+
+        cargoService.cancelCargoProcess(cargo.getTrackingNumber());
+
+        assertThat(taskService.createTaskQuery().processInstanceId(cargo.getProcessInstanceId()).count()).isZero();
+        executeJobs(cargo.getProcessInstanceId());
+        assertCancelled(cargo);
+    }
+
+    @Test
+    void bulkCancellationSkipsIneligibleCargosAndCorrelatesTheRestInOneBatch() throws Exception {
+        CargoResponse waitingForStartJob = cargoService.createCargoAndStartProcess(cargoRequest());
+        CargoResponse atUserTasks = cargoService.createCargoAndStartProcess(cargoRequest());
+        executeJobs(atUserTasks.getProcessInstanceId());
+        CargoResponse alreadyCancelled = cargoService.createCargoAndStartProcess(cargoRequest());
+        cargoService.cancelCargoProcess(alreadyCancelled.getTrackingNumber());
+        executeJobs(alreadyCancelled.getProcessInstanceId());
+        CargoResponse processDeleted = cargoService.createCargoAndStartProcess(cargoRequest());
+        runtimeService.deleteProcessInstance(processDeleted.getProcessInstanceId(), "test");
+        CargoResponse withoutProcess = cargoService.createCargoAndStartProcess(cargoRequest());
+        runtimeService.deleteProcessInstance(withoutProcess.getProcessInstanceId(), "test");
+        Cargo unlinked = cargoRepository.findByTrackingNumber(withoutProcess.getTrackingNumber()).orElseThrow();
+        unlinked.setProcessInstanceId(null);
+        cargoRepository.save(unlinked);
+
+        BulkCancellationRequest bulkRequest = new BulkCancellationRequest();
+        bulkRequest.setTrackingNumbers(List.of(waitingForStartJob.getTrackingNumber(), atUserTasks.getTrackingNumber(),
+                alreadyCancelled.getTrackingNumber(), processDeleted.getTrackingNumber(), withoutProcess.getTrackingNumber(),
+                " " + atUserTasks.getTrackingNumber() + " ", "", "999999999999999999"));
+        BulkCancellationResponse response = read(mockMvc.perform(authenticated(post("/api/cargos/cancel/bulk"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isAccepted()), BulkCancellationResponse.class);
+
+        // Boş ve tekrarlanan takip numaraları ayıklanır; uygun olmayan kargolar nedenleriyle atlanır
+        assertThat(response.getRequestedCount()).isEqualTo(6);
+        assertThat(response.getAcceptedCount()).isEqualTo(2);
+        Map<String, String> skipReasons = response.getSkippedItems().stream()
+                .collect(Collectors.toMap(BulkCancellationSkippedItem::getTrackingNumber, BulkCancellationSkippedItem::getReason));
+        assertThat(skipReasons).containsOnly(
+                Map.entry("999999999999999999", "Takip numarası ile kargo bulunamadı."),
+                Map.entry(alreadyCancelled.getTrackingNumber(), "Kargo zaten CANCELLED durumunda, iptal edilemez."),
+                Map.entry(processDeleted.getTrackingNumber(), "Aktif Camunda süreci bulunamadı."),
+                Map.entry(withoutProcess.getTrackingNumber(), "Kargoya bağlı Camunda süreci yok."));
+
+        // Batch çalışırken ilerleme çalışma zamanı istatistiklerinden okunur
+        BulkCancellationProgress running = progress(response.getBatchId());
+        assertThat(running.isFinished()).isFalse();
+        assertThat(running.getTotalJobs()).isEqualTo(1);
+        assertThat(running.getRemainingJobs()).isEqualTo(1);
+        assertThat(running.getEndTime()).isNull();
+
+        executeBatch(response.getBatchId());
+
+        // Biten batch çalışma zamanı tablolarından silinir; ilerleme geçmişten okunur
+        BulkCancellationProgress finished = progress(response.getBatchId());
+        assertThat(finished.isFinished()).isTrue();
+        assertThat(finished.getCompletedJobs()).isEqualTo(1);
+        assertThat(finished.getRemainingJobs()).isZero();
+        assertThat(finished.getEndTime()).isNotNull();
+
+        executeJobs(waitingForStartJob.getProcessInstanceId());
+        executeJobs(atUserTasks.getProcessInstanceId());
+        assertCancelled(waitingForStartJob);
+        assertCancelled(atUserTasks);
+    }
+
+    @Test
+    void bulkAndTaskEndpointsRequireAuthentication() throws Exception {
+        mockMvc.perform(post("/api/cargos/cancel/bulk").contentType(MediaType.APPLICATION_JSON).content("{\"trackingNumbers\":[\"1\"]}"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+        mockMvc.perform(get("/api/cargos/cancel/bulk/unknown-batch"))
+                .andExpect(status().is3xxRedirection());
+        mockMvc.perform(get("/api/cargos/tasks/active"))
+                .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(authenticated(get("/api/cargos/cancel/bulk/unknown-batch")))
+                .andExpect(status().isNotFound());
+    }
+
+    private BulkCancellationProgress progress(String batchId) throws Exception {
+        return read(mockMvc.perform(authenticated(get("/api/cargos/cancel/bulk/" + batchId)))
+                .andExpect(status().isOk()), BulkCancellationProgress.class);
+    }
+
+    private <T> T read(ResultActions result, Class<T> type) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8), type);
+    }
+
+    private static MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request) {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated("operator", null, List.of(new SimpleGrantedAuthority("ROLE_USER")))));
+        return request.session(session);
+    }
+
+    /** Batch'in tohum, iptal ve izleme işlerini, batch çalışma zamanından silinene kadar çalıştırır. */
+    private void executeBatch(String batchId) {
+        Batch batch = managementService.createBatchQuery().batchId(batchId).singleResult();
+        Set<String> jobDefinitionIds = Set.of(batch.getSeedJobDefinitionId(), batch.getBatchJobDefinitionId(), batch.getMonitorJobDefinitionId());
+        while (managementService.createBatchQuery().batchId(batchId).count() > 0) {
+            managementService.createJobQuery().list().stream()
+                    .filter(job -> jobDefinitionIds.contains(job.getJobDefinitionId()))
+                    .forEach(job -> managementService.executeJob(job.getId()));
+        }
+    }
+
+    private void assertCancelled(CargoResponse cargo) {
+        assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(cargo.getProcessInstanceId()).count()).isZero();
+        assertThat(cargoRepository.findByTrackingNumber(cargo.getTrackingNumber()).orElseThrow().getCurrentStatus())
+                .isEqualTo(CargoStatus.CANCELLED);
+        List<String> finishedActivities = historyService.createHistoricActivityInstanceQuery()
+                .processInstanceId(cargo.getProcessInstanceId()).finished().list().stream()
+                .map(HistoricActivityInstance::getActivityId).toList();
+        assertThat(finishedActivities).contains("endEvent_CancelledByMessage");
+    }
+
+    private List<String> jobActivityIds(String processInstanceId) {
+        return managementService.createJobQuery().processInstanceId(processInstanceId).list().stream()
+                .map(job -> managementService.createJobDefinitionQuery().jobDefinitionId(job.getJobDefinitionId()).singleResult().getActivityId())
+                .toList();
+    }
+
+    private void executeJobs(String processInstanceId) {
+        List<Job> jobs;
+        while (!(jobs = managementService.createJobQuery().processInstanceId(processInstanceId).executable().list()).isEmpty()) {
+            jobs.forEach(job -> managementService.executeJob(job.getId()));
+        }
+    }
+}
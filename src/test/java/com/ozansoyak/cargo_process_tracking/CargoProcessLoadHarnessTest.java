@@ -0,0 +1,146 @@
+package com.ozansoyak.cargo_process_tracking;
+
+import com.ozansoyak.cargo_process_tracking.dto.BatchCargoResponse;
+import com.ozansoyak.cargo_process_tracking.dto.CreateCargoRequest;
+import com.ozansoyak.cargo_process_tracking.model.ShipmentHistory;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
+import com.ozansoyak.cargo_process_tracking.repository.ShipmentHistoryRepository;
+import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricJobLog;
+import org.camunda.bpm.engine.task.Task;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gömülü Camunda + H2 üzerinde N kargo sürecini başlatıp tüm kullanıcı görevlerini tamamlayarak teslim edilene
+ * kadar yürütür; iş yürütücünün saniyedeki iş sayısını ve işin oluşturulmasından servis görevinin çalışmaya
+ * başlamasına kadar geçen süreyi (alma gecikmesi) raporlar. Yalnızca CARGO_LOAD_INSTANCES tanımlıysa çalışır, örn:
+ * CARGO_LOAD_INSTANCES=2000 mvn test -Dtest=CargoProcessLoadHarnessTest -Dspring.profiles.include=throughput
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@EnabledIfEnvironmentVariable(named = "CARGO_LOAD_INSTANCES", matches = "\\d+")
+class CargoProcessLoadHarnessTest {
+
+    private static final int CREATE_CHUNK = 1000;
+    private static final int DRIVER_THREADS = 8;
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    @Autowired
+    private CargoService cargoService;
+    @Autowired
+    private CargoRepository cargoRepository;
+    @Autowired
+    private ShipmentHistoryRepository shipmentHistoryRepository;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private HistoryService historyService;
+
+    @Test
+    void drivesProcessInstancesToDelivery() throws Exception {
+        int instances = Integer.parseInt(System.getenv("CARGO_LOAD_INSTANCES"));
+        long start = System.nanoTime();
+
+        for (int from = 0; from < instances; from += CREATE_CHUNK) {
+            List<CreateCargoRequest> requests = new ArrayList<>();
+            for (int i = from; i < Math.min(from + CREATE_CHUNK, instances); i++) {
+                requests.add(cargoRequest(i));
+            }
+            BatchCargoResponse response = cargoService.createCargosInBatch(requests);
+            assertThat(response.getFailureCount()).isZero();
+        }
+
+        ExecutorService drivers = Executors.newFixedThreadPool(DRIVER_THREADS);
+        AtomicInteger completedTasks = new AtomicInteger();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (historyService.createHistoricProcessInstanceQuery().finished().count() < instances) {
+            assertThat(System.nanoTime()).as("Yük testi zaman aşımına uğradı").isLessThan(deadline);
+            List<Task> tasks = taskService.createTaskQuery().active().listPage(0, 500);
+            if (tasks.isEmpty()) {
+                // Sıradaki kullanıcı görevlerini iş yürütücü oluşturacak
+                Thread.sleep(50);
+                continue;
+            }
+            // Paralel birleşmedeki iki görev aynı anda tamamlanırsa Camunda OptimisticLockingException verir;
+            // bu yüzden bir sürecin görevleri aynı sürücü iş parçacığında sırayla tamamlanır
+            Map<String, List<Task>> tasksByProcessInstance = tasks.stream()
+                    .collect(Collectors.groupingBy(Task::getProcessInstanceId));
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<Task> processTasks : tasksByProcessInstance.values()) {
+                futures.add(drivers.submit(() -> {
+                    for (Task task : processTasks) {
+                        cargoService.completeTaskByIdAndPrepareNextStep(task.getId());
+                        completedTasks.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        drivers.shutdown();
+        drivers.awaitTermination(1, TimeUnit.MINUTES);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(cargoRepository.findAll()).allMatch(cargo -> cargo.getCurrentStatus() == CargoStatus.DELIVERED);
+
+        List<HistoricJobLog> successLogs = historyService.createHistoricJobLogQuery().successLog().list();
+        List<Long> acquisitionLatencies = acquisitionLatenciesMillis();
+        Collections.sort(acquisitionLatencies);
+        System.out.printf("Yük testi: %d süreç, %d kullanıcı görevi, %d iş, %.1f sn -> %.1f iş/sn, %.1f süreç/sn%n",
+                instances, completedTasks.get(), successLogs.size(), elapsedSeconds,
+                successLogs.size() / elapsedSeconds, instances / elapsedSeconds);
+        System.out.printf("İş alma gecikmesi (ms): p50=%d p95=%d p99=%d max=%d%n",
+                percentile(acquisitionLatencies, 0.50), percentile(acquisitionLatencies, 0.95),
+                percentile(acquisitionLatencies, 0.99), percentile(acquisitionLatencies, 1.0));
+    }
+
+    /** Servis görevi işinin oluşturulma zamanı ile worker'ın yazdığı durum olayının zamanı arasındaki fark. */
+    private List<Long> acquisitionLatenciesMillis() {
+        Map<String, LocalDateTime> createdAtByActivity = new HashMap<>();
+        for (HistoricJobLog creation : historyService.createHistoricJobLogQuery().creationLog().list()) {
+            createdAtByActivity.put(creation.getProcessInstanceId() + "/" + creation.getActivityId(),
+                    LocalDateTime.ofInstant(creation.getTimestamp().toInstant(), ZoneId.systemDefault()));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (ShipmentHistory event : shipmentHistoryRepository.findAll()) {
+            LocalDateTime createdAt = createdAtByActivity.get(event.getProcessInstanceId() + "/" + event.getActivityId());
+            if (createdAt != null) {
+                latencies.add(Math.max(0, Duration.between(createdAt, event.getOccurredAt()).toMillis()));
+            }
+        }
+        return latencies;
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+}
@@ -0,0 +1,35 @@
+package com.ozansoyak.cargo_process_tracking;
+
+import com.ozansoyak.cargo_process_tracking.dto.CreateCargoRequest;
+
+/**
+ * Testler ve benchmarklar için geçerli kargo oluşturma istekleri üretir. Aynı sıra numarası her zaman aynı isteği
+ * verir; şehir, telefon ve ağırlık sıra numarasına göre değiştiğinden arama ve panel sorguları farklı değerlerle çalışır.
+ */
+public final class CargoTestRequests {
+
+    private static final String[] CITIES = {"Ankara", "İzmir", "İstanbul", "Bursa", "Antalya"};
+
+    private CargoTestRequests() {
+    }
+
+    public static CreateCargoRequest cargoRequest() {
+        return cargoRequest(0);
+    }
+
+    public static CreateCargoRequest cargoRequest(int index) {
+        CreateCargoRequest request = new CreateCargoRequest();
+        request.setSenderName("Gönderen " + index);
+        request.setSenderAddress("Atatürk Cad. No:" + index);
+        request.setSenderCity(CITIES[index % CITIES.length]);
+        request.setSenderPhone("0532" + String.format("%07d", index % 10_000_000));
+        request.setReceiverName("Alıcı " + index);
+        request.setReceiverAddress("Cumhuriyet Cad. No:" + index);
+        request.setReceiverCity(CITIES[(index + 2) % CITIES.length]);
+        request.setReceiverPhone("0533" + String.format("%07d", index % 10_000_000));
+        request.setReceiverEmail("alici" + index + "@example.com");
+        request.setWeight(1.0 + index % 20);
+        request.setContentDescription("Kitap");
+        return request;
+    }
+}
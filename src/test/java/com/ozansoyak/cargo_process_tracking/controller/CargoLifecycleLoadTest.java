@@ -0,0 +1,294 @@
+package com.ozansoyak.cargo_process_tracking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ozansoyak.cargo_process_tracking.dto.CargoResponse;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
+import org.camunda.bpm.engine.ManagementService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * cargoTrackingProcessV3 süreçlerini REST API üzerinden uçtan uca sürer: kargo oluşturulur, paralel fiziksel kabul /
+ * fatura görevleri ve tüm onay görevleri tamamlanır, kargoların bir kısmı rastgele bir adımda iptal edilir; bu sırada
+ * okuyucular /track sayfasını sorgular. Uç nokta başına saniyedeki istek ve p50/p99 gecikme, saatlik kargo kapasitesi ve
+ * Camunda iş birikiminin zaman serisi raporlanır. Yalnızca CARGO_LOAD_TEST_CARGOS tanımlıysa çalışır, örn:
+ * CARGO_LOAD_TEST_CARGOS=500 CARGO_LOAD_TEST_WORKERS=16 CARGO_LOAD_TEST_READERS=8 CARGO_LOAD_TEST_CANCEL_RATIO=0.1 mvn test -Dtest=CargoLifecycleLoadTest
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.ozansoyak=WARN",
+        // Henüz oluşmamış görevler için yapılan tekrar denemeler her seferinde yığın izi yazdırmasın
+        "logging.level.com.ozansoyak.cargo_process_tracking.controller.CargoController=OFF"
+})
+@ActiveProfiles("h2")
+@EnabledIfEnvironmentVariable(named = "CARGO_LOAD_TEST_CARGOS", matches = "\\d+")
+class CargoLifecycleLoadTest {
+
+    // Paralel kabul/fatura çifti önce, ardından onay görevleri süreçteki sırasıyla
+    private static final List<String> TASK_SEQUENCE = List.of(
+            "userTask_PhysicalReception",
+            "userTask_InvoiceCreation",
+            "userTask_ConfirmReceived",
+            "userTask_ConfirmLoaded1",
+            "userTask_ConfirmTransfer",
+            "userTask_ConfirmLoaded2",
+            "userTask_ConfirmDistribution",
+            "userTask_ConfirmOutDelivery");
+
+    private static final String CREATE = "POST /api/cargos";
+    private static final String COMPLETE_STEP = "PUT /api/cargos/{no}/complete-step/{task}";
+    private static final String CANCEL = "PUT /api/cargos/{no}/cancel";
+    private static final String TRACK = "GET /track";
+
+    // Önceki adımın durum güncelleme işi bitmeden sonraki görev oluşmaz; bu süre içinde tekrar denenir
+    private static final Duration TASK_READY_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration BACKLOG_SAMPLE_INTERVAL = Duration.ofSeconds(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Autowired
+    private CargoRepository cargoRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger notReadyRetries = new AtomicInteger();
+    private final AtomicInteger failedLifecycles = new AtomicInteger();
+
+    @Test
+    void drivesCargoLifecyclesUnderLoad() throws Exception {
+        int cargos = Integer.parseInt(System.getenv("CARGO_LOAD_TEST_CARGOS"));
+        int workers = Integer.parseInt(System.getenv().getOrDefault("CARGO_LOAD_TEST_WORKERS", "8"));
+        int readers = Integer.parseInt(System.getenv().getOrDefault("CARGO_LOAD_TEST_READERS", "4"));
+        double cancelRatio = Double.parseDouble(System.getenv().getOrDefault("CARGO_LOAD_TEST_CANCEL_RATIO", "0.1"));
+        List.of(CREATE, COMPLETE_STEP, CANCEL, TRACK).forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+
+        List<String> trackingNumbers = new CopyOnWriteArrayList<>();
+        AtomicInteger nextCargo = new AtomicInteger();
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicBoolean writersDone = new AtomicBoolean();
+        List<long[]> backlog = Collections.synchronizedList(new ArrayList<>());
+
+        long start = System.nanoTime();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> backlog.add(new long[]{(System.nanoTime() - start) / 1_000_000,
+                        managementService.createJobQuery().executable().count()}),
+                0, BACKLOG_SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+        ExecutorService writerThreads = Executors.newFixedThreadPool(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            Random random = new Random(worker);
+            writerThreads.execute(() -> {
+                for (int index = nextCargo.getAndIncrement(); index < cargos; index = nextCargo.getAndIncrement()) {
+                    try {
+                        // İptal edilecek kargolar için iptal adımı tüm adımlar boyunca eşit dağılır
+                        int cancelAtStep = random.nextDouble() < cancelRatio
+                                ? random.nextInt(TASK_SEQUENCE.size()) : -1;
+                        if (runLifecycle(index, cancelAtStep, trackingNumbers)) {
+                            cancelled.incrementAndGet();
+                        } else {
+                            delivered.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failedLifecycles.incrementAndGet();
+                        System.out.printf("Kargo %d yaşam döngüsü başarısız: %s%n", index, e.getMessage());
+                    }
+                }
+            });
+        }
+
+        ExecutorService readerThreads = Executors.newFixedThreadPool(Math.max(1, readers));
+        for (int reader = 0; reader < readers; reader++) {
+            Random random = new Random(1000L + reader);
+            readerThreads.execute(() -> {
+                while (!writersDone.get()) {
+                    if (trackingNumbers.isEmpty()) {
+                        sleep(10);
+                        continue;
+                    }
+                    String trackingNumber = trackingNumbers.get(random.nextInt(trackingNumbers.size()));
+                    send(TRACK, HttpRequest.newBuilder(uri("/track?trackingNumber=" + trackingNumber)).GET());
+                }
+            });
+        }
+
+        writerThreads.shutdown();
+        assertThat(writerThreads.awaitTermination(2, TimeUnit.HOURS)).isTrue();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        writersDone.set(true);
+        readerThreads.shutdown();
+        assertThat(readerThreads.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        // Son adımların durum güncelleme işleri de bitsin; kalan birikim düğümün geride kaldığını gösterir
+        long drainStart = System.nanoTime();
+        while (managementService.createJobQuery().executable().count() > 0 && System.nanoTime() - drainStart < TASK_READY_TIMEOUT.toNanos()) {
+            sleep(100);
+        }
+        double drainSeconds = (System.nanoTime() - drainStart) / 1e9;
+        sampler.shutdownNow();
+
+        report(cargos, workers, readers, elapsedSeconds, drainSeconds, delivered.get(), cancelled.get(), backlog);
+        assertThat(failedLifecycles.get()).isZero();
+        assertThat(cargoRepository.countByCurrentStatus(CargoStatus.CANCELLED)).isEqualTo(cancelled.get());
+        assertThat(cargoRepository.countByCurrentStatus(CargoStatus.DELIVERED)).isEqualTo(delivered.get());
+        assertThat(stats.values()).allSatisfy(endpoint -> assertThat(endpoint.errors.get()).isZero());
+    }
+
+    /** Tek bir kargoyu oluşturur ve görevlerini sırayla tamamlar; verilen adımda iptal edildiyse true döner. */
+    private boolean runLifecycle(int index, int cancelAtStep, List<String> trackingNumbers) throws Exception {
+        HttpResponse<String> created = send(CREATE, HttpRequest.newBuilder(uri("/api/cargos"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(cargoRequest(index)))));
+        if (created.statusCode() != 201) {
+            throw new IllegalStateException("Kargo oluşturulamadı: HTTP " + created.statusCode());
+        }
+        CargoResponse cargo = objectMapper.readValue(created.body(), CargoResponse.class);
+        String trackingNumber = cargo.getTrackingNumber();
+        trackingNumbers.add(trackingNumber);
+
+        for (int step = 0; step < TASK_SEQUENCE.size(); step++) {
+            if (step == cancelAtStep) {
+                // Önceki adımın durum güncelleme işi henüz çalışmamış olabilir; iptal bunu beklemeden sürece yansır
+                HttpResponse<String> response = send(CANCEL, HttpRequest.newBuilder(uri("/api/cargos/" + trackingNumber + "/cancel"))
+                        .PUT(HttpRequest.BodyPublishers.noBody()));
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException(trackingNumber + " iptal edilemedi: HTTP " + response.statusCode());
+                }
+                return true;
+            }
+            completeWhenReady(trackingNumber, TASK_SEQUENCE.get(step));
+        }
+        return false;
+    }
+
+    private void completeWhenReady(String trackingNumber, String taskDefinitionKey) {
+        long deadline = System.nanoTime() + TASK_READY_TIMEOUT.toNanos();
+        while (true) {
+            long begin = System.nanoTime();
+            HttpResponse<String> response = sendUnrecorded(HttpRequest.newBuilder(uri("/api/cargos/" + trackingNumber + "/complete-step/" + taskDefinitionKey))
+                    .PUT(HttpRequest.BodyPublishers.noBody()));
+            long latencyMicros = (System.nanoTime() - begin) / 1000;
+            if (response.statusCode() == 200) {
+                stats.get(COMPLETE_STEP).latenciesMicros.add(latencyMicros);
+                return;
+            }
+            // Görev henüz oluşmadıysa gecikmeye sayılmaz; yalnızca tekrar deneme sayısı raporlanır
+            if (!response.body().contains("aktif görev bulunamadı") || System.nanoTime() > deadline) {
+                stats.get(COMPLETE_STEP).errors.incrementAndGet();
+                throw new IllegalStateException(trackingNumber + " için '" + taskDefinitionKey + "' tamamlanamadı: HTTP "
+                        + response.statusCode() + " " + response.body());
+            }
+            notReadyRetries.incrementAndGet();
+            sleep(20);
+        }
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        long begin = System.nanoTime();
+        try {
+            HttpResponse<String> response = sendUnrecorded(request);
+            endpointStats.latenciesMicros.add((System.nanoTime() - begin) / 1000);
+            if (response.statusCode() >= 300) {
+                endpointStats.errors.incrementAndGet();
+            }
+            return response;
+        } catch (RuntimeException e) {
+            endpointStats.errors.incrementAndGet();
+            throw e;
+        }
+    }
+
+    private HttpResponse<String> sendUnrecorded(HttpRequest.Builder request) {
+        try {
+            return httpClient.send(request.timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException("HTTP isteği başarısız: " + e.getMessage(), e);
+        }
+    }
+
+    private void report(int cargos, int workers, int readers, double elapsedSeconds, double drainSeconds,
+                        int delivered, int cancelled, List<long[]> backlog) {
+        System.out.printf("Yaşam döngüsü yük testi: %d kargo, %d yazıcı, %d okuyucu, %.1f sn (birikim boşaltma %.1f sn)%n",
+                cargos, workers, readers, elapsedSeconds, drainSeconds);
+        System.out.printf("Tamamlanan: %d teslim, %d iptal, %d hatalı -> %.0f kargo/saat; hazır olmayan görev için %d tekrar deneme%n",
+                delivered, cancelled, failedLifecycles.get(), (delivered + cancelled) / elapsedSeconds * 3600, notReadyRetries.get());
+        stats.forEach((endpoint, endpointStats) -> {
+            List<Long> sorted = new ArrayList<>(endpointStats.latenciesMicros);
+            Collections.sort(sorted);
+            System.out.printf("  %-45s %7d istek, %4d hata, %8.1f istek/sn, p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                    endpoint, sorted.size(), endpointStats.errors.get(), sorted.size() / elapsedSeconds,
+                    percentile(sorted, 0.50) / 1000.0, percentile(sorted, 0.99) / 1000.0, percentile(sorted, 1.0) / 1000.0);
+        });
+        System.out.println("Camunda iş birikimi (geçen ms -> çalıştırılabilir iş sayısı):");
+        synchronized (backlog) {
+            backlog.forEach(sample -> System.out.printf("  %8d ms  %d%n", sample[0], sample[1]));
+        }
+        System.out.println("Son durum dağılımı:");
+        cargoRepository.countGroupedByCurrentStatus()
+                .forEach(count -> System.out.printf("  %-20s %d%n", count.getStatus(), count.getTotal()));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class EndpointStats {
+        final ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+        final AtomicInteger errors = new AtomicInteger();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ozansoyak.cargo_process_tracking.controller;
+
+import com.ozansoyak.cargo_process_tracking.dto.CargoResponse;
+import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrlPattern;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Kargo araması gönderici/alıcı adlarını ve takip numaralarını listeler; yalnızca oturum açmış personele açıktır.
+ */
+@SpringBootTest(properties = "camunda.bpm.job-execution.enabled=false")
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class CargoSearchControllerTest {
+
+    @Autowired
+    private CargoService cargoService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void searchRequiresAuthentication() throws Exception {
+        mockMvc.perform(get("/api/cargos/search").param("customerInfo", "alıcı"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrlPattern("**/login"));
+    }
+
+    @Test
+    void authenticatedSearchReturnsMatchingCargos() throws Exception {
+        CargoResponse cargo = cargoService.createCargoAndStartProcess(cargoRequest(7301));
+
+        mockMvc.perform(get("/api/cargos/search").param("customerInfo", "05330007301").session(authenticatedSession()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].trackingNumber").value(cargo.getTrackingNumber()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    private static MockHttpSession authenticatedSession() {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new SecurityContextImpl(
+                UsernamePasswordAuthenticationToken.authenticated("operator", null, List.of(new SimpleGrantedAuthority("ROLE_USER")))));
+        return session;
+    }
+}
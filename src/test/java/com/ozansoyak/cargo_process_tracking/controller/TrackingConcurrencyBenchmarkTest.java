@@ -0,0 +1,128 @@
+package com.ozansoyak.cargo_process_tracking.controller;
+
+import com.ozansoyak.cargo_process_tracking.dto.BatchCargoResponse;
+import com.ozansoyak.cargo_process_tracking.dto.BatchCargoItemResult;
+import com.ozansoyak.cargo_process_tracking.dto.CreateCargoRequest;
+import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /track sayfasına çok sayıda eşzamanlı istemciyle kapalı döngü yük uygular; saniyedeki istek ve gecikme
+ * yüzdeliklerini raporlar. Önbellek kapatılır, her istek JDBC ve Camunda sorgularına gider. Yalnızca
+ * CARGO_TRACK_BENCHMARK_CLIENTS tanımlıysa çalışır; öncesi/sonrası karşılaştırması için iki kez çalıştırılır:
+ * CARGO_TRACK_BENCHMARK_CLIENTS=1000 mvn test -Dtest=TrackingConcurrencyBenchmarkTest
+ * CARGO_TRACK_BENCHMARK_CLIENTS=1000 mvn test -Dtest=TrackingConcurrencyBenchmarkTest -Dspring.profiles.include=virtual-threads
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "cargo.tracking-cache.maximum-size=0",
+        "logging.level.com.ozansoyak=WARN"
+})
+@ActiveProfiles("h2")
+@EnabledIfEnvironmentVariable(named = "CARGO_TRACK_BENCHMARK_CLIENTS", matches = "\\d+")
+class TrackingConcurrencyBenchmarkTest {
+
+    private static final int CARGOS = 200;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CargoService cargoService;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void measuresTrackPageUnderConcurrentClients() throws Exception {
+        int clients = Integer.parseInt(System.getenv("CARGO_TRACK_BENCHMARK_CLIENTS"));
+        List<String> trackingNumbers = createCargos();
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ExecutorService clientThreads = Executors.newFixedThreadPool(clients);
+        ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+
+        for (int client = 0; client < clients; client++) {
+            int clientIndex = client;
+            clientThreads.execute(() -> {
+                try {
+                    startSignal.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        String trackingNumber = trackingNumbers.get((clientIndex + i) % trackingNumbers.size());
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/track?trackingNumber=" + trackingNumber))
+                                .timeout(Duration.ofSeconds(60))
+                                .build();
+                        long begin = System.nanoTime();
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        latenciesMicros.add((System.nanoTime() - begin) / 1000);
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+
+        long start = System.nanoTime();
+        startSignal.countDown();
+        clientThreads.shutdown();
+        assertThat(clientThreads.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<Long> sorted = new ArrayList<>(latenciesMicros);
+        Collections.sort(sorted);
+        System.out.printf("/track (sanal iş parçacığı: %s, %d istemci): %d istek, %d hata, %.0f istek/sn, p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                environment.getProperty("spring.threads.virtual.enabled", "false"), clients, sorted.size(), failures.get(),
+                sorted.size() / elapsedSeconds, percentile(sorted, 0.50) / 1000.0, percentile(sorted, 0.99) / 1000.0,
+                percentile(sorted, 1.0) / 1000.0);
+        assertThat(failures.get()).isZero();
+    }
+
+    private List<String> createCargos() {
+        List<CreateCargoRequest> requests = new ArrayList<>();
+        for (int i = 0; i < CARGOS; i++) {
+            requests.add(cargoRequest(i));
+        }
+        BatchCargoResponse response = cargoService.createCargosInBatch(requests);
+        assertThat(response.getFailureCount()).isZero();
+        return response.getItems().stream().map(BatchCargoItemResult::getTrackingNumber).toList();
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+}
@@ -0,0 +1,140 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Flyway göçlerini yerel bir PostgreSQL'de ayrı bir şemaya uygular, üretilmiş veriyle doldurur ve ana repository
+ * sorgularının (Hibernate'in ürettiği SQL'in sabit değerli karşılıkları) EXPLAIN planında beklenen indeksi
+ * kullandığını, sıralı tarama yapmadığını doğrular. Yalnızca CARGO_BENCHMARK_PG_URL tanımlıysa çalışır, örn:
+ * CARGO_BENCHMARK_PG_URL=jdbc:postgresql://localhost:5432/bench CARGO_BENCHMARK_PG_USER=postgres mvn test -Dtest=CargoQueryPlanTest
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "CARGO_BENCHMARK_PG_URL", matches = ".+")
+class CargoQueryPlanTest {
+
+    private static final String SCHEMA = "cargo_query_plan";
+    private static final int CARGOS = 200_000;
+    private static final int USERS = 5_000;
+
+    private Connection connection;
+
+    @BeforeAll
+    void migrateAndSeed() throws SQLException {
+        String url = System.getenv("CARGO_BENCHMARK_PG_URL");
+        String user = System.getenv().getOrDefault("CARGO_BENCHMARK_PG_USER", "postgres");
+        String password = System.getenv().getOrDefault("CARGO_BENCHMARK_PG_PASSWORD", "");
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration/postgresql")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA + ", public");
+            // Kargoların çoğu teslim edilmiş, %5'i iptal edilmiş, kalanı süreçte; üretim tablosunun dağılımına benzer
+            statement.execute("INSERT INTO cargos (id, tracking_number, sender_name, sender_address, sender_city, sender_phone, receiver_name, " +
+                    "receiver_address, receiver_city, receiver_phone, receiver_email, weight, content_description, current_status, " +
+                    "process_instance_id, created_at, last_updated_at, search_text) " +
+                    "SELECT g, 'TN' || lpad(g::text, 10, '0'), 'Gonderen ' || g, 'Adres ' || g, 'Ankara', '0532' || lpad(g::text, 7, '0'), " +
+                    "'Alici ' || g, 'Adres ' || g, 'Izmir', '0533' || lpad(g::text, 7, '0'), 'alici' || g || '@example.com', 1.0, 'Kitap', " +
+                    "CASE WHEN g % 20 = 0 THEN 'CANCELLED' WHEN g % 20 < 16 THEN 'DELIVERED' " +
+                    "ELSE (ARRAY['PENDING','RECEIVED','LOADED_ON_VEHICLE_1','AT_TRANSFER_CENTER'])[g % 20 - 15] END, " +
+                    "'pi-' || g, now() - g * interval '1 minute', now() - g * interval '1 minute', " +
+                    "'gonderen ' || g || '|alici ' || g || '|0532' || lpad(g::text, 7, '0') || '|0533' || lpad(g::text, 7, '0') " +
+                    "FROM generate_series(1, " + CARGOS + ") g");
+            statement.execute("INSERT INTO cargo_status_event (cargo_id, status, activity_id, activity_instance_id, process_instance_id, occurred_at) " +
+                    "SELECT id, current_status, 'task_UpdateStatus', 'ai-' || id || '-' || n, process_instance_id, last_updated_at - n * interval '1 hour' " +
+                    "FROM cargos, generate_series(1, 2) n");
+            // Bildirimlerin büyük kısmı gönderilmiş; bekleyenler küçük bir kuyruk oluşturur
+            statement.execute("INSERT INTO email_outbox (cargo_id, tracking_number, recipient, cargo_status, status_changed_at, status_trail, " +
+                    "status, attempts, next_attempt_at, created_at, sent_at) " +
+                    "SELECT id, tracking_number, receiver_email, current_status, last_updated_at, current_status, " +
+                    "CASE WHEN id % 100 = 0 THEN 'PENDING' ELSE 'SENT' END, CASE WHEN id % 100 = 0 THEN 0 ELSE 1 END, " +
+                    "last_updated_at, last_updated_at, CASE WHEN id % 100 = 0 THEN NULL ELSE last_updated_at END FROM cargos");
+            statement.execute("INSERT INTO users (id, email, password, user_type, is_enabled, created_at) " +
+                    "SELECT g, 'personel' || g || '@example.com', 'x', 'PERSONNEL', true, now() FROM generate_series(1, " + USERS + ") g");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    void dropSchema() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        }
+        connection.close();
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                Arguments.of("findByTrackingNumber", "uk_cargos_tracking_number",
+                        "SELECT * FROM cargos WHERE tracking_number = 'TN0000123456'"),
+                Arguments.of("findByProcessInstanceIdIn", "idx_cargos_process_instance_id",
+                        "SELECT * FROM cargos WHERE process_instance_id IN ('pi-10', 'pi-20', 'pi-30')"),
+                Arguments.of("arama: durum filtresi + son güncellemeye göre sayfa", "idx_cargos_active_status_last_updated_at_id",
+                        "SELECT * FROM cargos WHERE current_status = 'AT_TRANSFER_CENTER' ORDER BY last_updated_at DESC, id DESC LIMIT 20"),
+                Arguments.of("arama: iptal edilmiş kargolar + son güncellemeye göre sayfa", "idx_cargos_last_updated_at_id",
+                        "SELECT * FROM cargos WHERE current_status = 'CANCELLED' ORDER BY last_updated_at DESC, id DESC LIMIT 20"),
+                Arguments.of("arama: keyset sonraki sayfa", "idx_cargos_last_updated_at_id",
+                        "SELECT * FROM cargos WHERE last_updated_at < now() - interval '10 days' " +
+                                "OR (last_updated_at = now() - interval '10 days' AND id < 5000) ORDER BY last_updated_at DESC, id DESC LIMIT 21"),
+                Arguments.of("arama: müşteri bilgisi (search_text LIKE)", "idx_cargos_search_text_trgm",
+                        "SELECT * FROM cargos WHERE search_text LIKE '%alici 123457%' ESCAPE '\\' ORDER BY last_updated_at DESC, id DESC LIMIT 20"),
+                Arguments.of("toplu iptal: durum kriteri + iptal edilebilir", "idx_cargos_active_status_last_updated_at_id",
+                        "SELECT * FROM cargos WHERE current_status = 'PENDING' AND NOT (current_status IN ('DELIVERED', 'CANCELLED')) LIMIT 10001"),
+                Arguments.of("findByCargoIdOrderByOccurredAtAscIdAsc", "idx_cargo_status_event_cargo_occurred",
+                        "SELECT * FROM cargo_status_event WHERE cargo_id = 123456 ORDER BY occurred_at, id"),
+                Arguments.of("findExistingActivityInstanceIds", "uk_cargo_status_event_activity_instance",
+                        "SELECT activity_instance_id FROM cargo_status_event WHERE activity_instance_id IN ('ai-10-1', 'ai-10-2')"),
+                Arguments.of("findDueForUpdate", "idx_email_outbox_status_id",
+                        "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= now() ORDER BY id LIMIT 50 FOR UPDATE SKIP LOCKED"),
+                Arguments.of("findOpenDigestForUpdate", "idx_email_outbox_open_digest",
+                        "SELECT * FROM email_outbox WHERE cargo_id = 1200 AND recipient = 'alici1200@example.com' AND status = 'PENDING' " +
+                                "AND attempts = 0 AND created_at > now() - interval '1 year' ORDER BY id DESC LIMIT 1 FOR UPDATE"),
+                Arguments.of("findByEmail", "uk_users_email",
+                        "SELECT * FROM users WHERE email = 'personel42@example.com'"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryUsesIndex(String query, String expectedIndex, String sql) throws SQLException {
+        String plan = explain(sql);
+        assertTrue(plan.contains(expectedIndex), () -> query + " sorgusu " + expectedIndex + " indeksini kullanmıyor:\n" + plan);
+        assertFalse(plan.contains("Seq Scan"), () -> query + " sorgusu sıralı tarama yapıyor:\n" + plan);
+    }
+
+    private String explain(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import com.ozansoyak.cargo_process_tracking.util.SearchTextNormalizer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Eski müşteri araması (lower(ad) LIKE / telefon LIKE) ile search_text + pg_trgm GIN indeksli aramayı
+ * yerel bir PostgreSQL üzerinde üretilmiş veriyle karşılaştırır. Yalnızca CARGO_BENCHMARK_PG_URL
+ * tanımlıysa çalışır, örn:
+ * CARGO_BENCHMARK_PG_URL=jdbc:postgresql://localhost:5432/bench CARGO_BENCHMARK_PG_USER=postgres mvn test -Dtest=CargoSearchBenchmarkTest
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "CARGO_BENCHMARK_PG_URL", matches = ".+")
+class CargoSearchBenchmarkTest {
+
+    private static final String TABLE = "cargo_search_benchmark";
+    private static final int ITERATIONS = 20;
+
+    private static final String LEGACY_QUERY = "SELECT count(*) FROM " + TABLE + " WHERE lower(sender_name) LIKE ? OR lower(receiver_name) LIKE ? " +
+            "OR sender_phone LIKE ? OR receiver_phone LIKE ?";
+    private static final String INDEXED_QUERY = "SELECT count(*) FROM " + TABLE + " WHERE search_text LIKE ? ESCAPE '\\'";
+
+    private static final List<String> SEARCH_TERMS = List.of("yilmaz 4711", "ayse kaya 99", "05321004242", "demir 123456", "zeynep celik 7");
+
+    private Connection connection;
+
+    @BeforeAll
+    void createDataset() throws SQLException {
+        int rows = Integer.parseInt(System.getenv().getOrDefault("CARGO_BENCHMARK_ROWS", "1000000"));
+        connection = DriverManager.getConnection(System.getenv("CARGO_BENCHMARK_PG_URL"),
+                System.getenv().getOrDefault("CARGO_BENCHMARK_PG_USER", "postgres"),
+                System.getenv().getOrDefault("CARGO_BENCHMARK_PG_PASSWORD", ""));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE UNLOGGED TABLE " + TABLE + " (id bigint PRIMARY KEY, sender_name varchar(255), receiver_name varchar(255), " +
+                    "sender_phone varchar(20), receiver_phone varchar(20), search_text varchar(600))");
+            // ASCII adlar kullanıldığından search_text, SearchTextNormalizer ile aynı biçimde SQL tarafında üretilebilir
+            statement.execute("INSERT INTO " + TABLE + " SELECT g, s_name, r_name, s_phone, r_phone, " +
+                    "lower(s_name) || '|' || lower(r_name) || '|' || s_phone || '|' || r_phone FROM (" +
+                    "SELECT g, " +
+                    "(ARRAY['Ahmet','Mehmet','Ayse','Fatma','Mustafa','Zeynep','Emre','Elif','Can','Selin'])[1 + g % 10] || ' ' || " +
+                    "(ARRAY['Yilmaz','Kaya','Demir','Celik','Sahin','Yildiz','Ozturk','Aydin','Arslan','Dogan'])[1 + (g / 10) % 10] || ' ' || g AS s_name, " +
+                    "(ARRAY['Ali','Veli','Hasan','Huseyin','Esra','Burak','Deniz','Ece','Kerem','Merve'])[1 + (g / 7) % 10] || ' ' || " +
+                    "(ARRAY['Kaya','Koc','Kurt','Ozdemir','Polat','Erdogan','Aksoy','Tas','Bulut','Gunes'])[1 + (g / 3) % 10] || ' ' || (g * 7) AS r_name, " +
+                    "'0532' || lpad((g % 10000000)::text, 7, '0') AS s_phone, " +
+                    "'0542' || lpad(((g * 13) % 10000000)::text, 7, '0') AS r_phone " +
+                    "FROM generate_series(1, " + rows + ") g) src");
+            statement.execute("CREATE INDEX idx_" + TABLE + "_trgm ON " + TABLE + " USING gin (search_text gin_trgm_ops)");
+            statement.execute("ANALYZE " + TABLE);
+        }
+    }
+
+    @AfterAll
+    void dropDataset() throws SQLException {
+        if (connection != null) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            }
+            connection.close();
+        }
+    }
+
+    @Test
+    void indexedSearchReturnsSameRowsFasterThanLegacySpecification() throws SQLException {
+        long legacyNanos = 0;
+        long indexedNanos = 0;
+        for (String term : SEARCH_TERMS) {
+            String likePattern = "%" + term.toLowerCase() + "%";
+            String normalizedPattern = SearchTextNormalizer.toContainsPattern(SearchTextNormalizer.normalizeQuery(term));
+
+            long legacyCount = count(LEGACY_QUERY, likePattern, likePattern, likePattern, likePattern);
+            long indexedCount = count(INDEXED_QUERY, normalizedPattern);
+            assertEquals(legacyCount, indexedCount, "Aynı terim için iki arama farklı sonuç döndürdü: " + term);
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                count(LEGACY_QUERY, likePattern, likePattern, likePattern, likePattern);
+                legacyNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                count(INDEXED_QUERY, normalizedPattern);
+                indexedNanos += System.nanoTime() - start;
+            }
+        }
+        int runs = SEARCH_TERMS.size() * ITERATIONS;
+        System.out.printf("Kargo araması (%d sorgu): eski spesifikasyon ort. %.2f ms, trigram indeksli ort. %.2f ms (%.1fx)%n",
+                runs, legacyNanos / 1e6 / runs, indexedNanos / 1e6 / runs, (double) legacyNanos / Math.max(indexedNanos, 1));
+    }
+
+    private long count(String sql, String... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ozansoyak.cargo_process_tracking.repository;
+
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false"
+})
+class EmailOutboxRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @Autowired
+    private EmailOutboxRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void staleSenderCannotOverwriteResultAfterLeaseWasReclaimed() {
+        Long id = pendingNotification();
+        LocalDateTime slowLease = NOW.plusMinutes(2);
+        LocalDateTime secondLease = NOW.plusMinutes(5);
+
+        // İlk gönderici kaydı alır; kira dolunca ikinci gönderici yeniden alır ve gönderir
+        repository.lease(List.of(id), slowLease);
+        repository.lease(List.of(id), secondLease);
+        assertThat(repository.markSent(List.of(id), secondLease, NOW)).isEqualTo(1);
+
+        // Yavaş göndericinin geç gelen sonucu yazılmaz
+        assertThat(repository.markFailed(id, slowLease, EmailOutboxStatus.PENDING, 1, NOW.plusSeconds(30), "zaman aşımı")).isZero();
+        assertThat(repository.markSent(List.of(id), slowLease, NOW)).isZero();
+
+        EmailOutbox notification = reload(id);
+        assertThat(notification.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(notification.getAttempts()).isEqualTo(1);
+        assertThat(notification.getLastError()).isNull();
+    }
+
+    @Test
+    void currentLeaseHolderRecordsFailureForRetry() {
+        Long id = pendingNotification();
+        LocalDateTime lease = NOW.plusMinutes(2);
+        repository.lease(List.of(id), lease);
+
+        assertThat(repository.markFailed(id, lease, EmailOutboxStatus.PENDING, 1, NOW.plusSeconds(30), "bağlantı reddedildi")).isEqualTo(1);
+
+        EmailOutbox notification = reload(id);
+        assertThat(notification.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(notification.getAttempts()).isEqualTo(1);
+        assertThat(notification.getNextAttemptAt()).isEqualTo(NOW.plusSeconds(30));
+        assertThat(notification.getLastError()).isEqualTo("bağlantı reddedildi");
+    }
+
+    @Test
+    void openDigestIsTheNewestUnsentRowInsideTheWindowAndIsNotDueForDispatch() {
+        LocalDateTime windowStart = NOW.minusSeconds(30);
+        notification(NOW.minusSeconds(45), 0);
+        notification(NOW.minusSeconds(10), 1);
+        Long open = notification(NOW.minusSeconds(5), 0);
+
+        assertThat(repository.findOpenDigestForUpdate(1L, "alici@example.com", windowStart, Limit.of(1)))
+                .extracting(EmailOutbox::getId).containsExactly(open);
+        assertThat(repository.findOpenDigestForUpdate(1L, "baska@example.com", windowStart, Limit.of(1))).isEmpty();
+        // Pencere açıkken kaydın zamanı gelmemiştir; dağıtıcı yalnızca pencere dışındaki kaydı alır
+        assertThat(repository.findDueForUpdate(EmailOutboxStatus.PENDING, NOW, Limit.of(10)))
+                .extracting(EmailOutbox::getCreatedAt).containsExactly(NOW.minusSeconds(45));
+    }
+
+    private Long pendingNotification() {
+        return notification(NOW.minusSeconds(30), 0);
+    }
+
+    // Birleştirme penceresi 30 sn olan bir kayıt: pencere kapanınca gönderime hazır olur
+    private Long notification(LocalDateTime createdAt, int attempts) {
+        return entityManager.persistAndFlush(EmailOutbox.builder()
+                .cargoId(1L)
+                .trackingNumber("261000000000000001")
+                .recipient("alici@example.com")
+                .cargoStatus(CargoStatus.RECEIVED)
+                .statusChangedAt(createdAt)
+                .statusTrail(CargoStatus.RECEIVED.name())
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(createdAt.plusSeconds(30))
+                .createdAt(createdAt)
+                .build()).getId();
+    }
+
+    private EmailOutbox reload(Long id) {
+        entityManager.clear();
+        return entityManager.find(EmailOutbox.class, id);
+    }
+}
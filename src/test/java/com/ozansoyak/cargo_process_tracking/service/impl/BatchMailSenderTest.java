@@ -0,0 +1,59 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchMailSenderTest {
+
+    private static final int GROUP_SIZE = 50;
+
+    @Test
+    void eachGroupIsSentOverASingleConnection() throws Exception {
+        try (LocalSmtpServer server = new LocalSmtpServer()) {
+            BatchMailSender batchMailSender = new BatchMailSender(mailSender(server.getPort()));
+            List<SimpleMailMessage> messages = messages(120);
+
+            int failures = 0;
+            for (int from = 0; from < messages.size(); from += GROUP_SIZE) {
+                Map<Integer, SimpleMailMessage> group = new LinkedHashMap<>();
+                for (int i = from; i < Math.min(from + GROUP_SIZE, messages.size()); i++) {
+                    group.put(i, messages.get(i));
+                }
+                failures += batchMailSender.sendAll(group).size();
+            }
+
+            assertThat(failures).isZero();
+            assertThat(server.getReceivedMessages()).isEqualTo(120);
+            assertThat(server.getOpenedConnections()).isEqualTo(3);
+        }
+    }
+
+    static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.auth", "false");
+        return sender;
+    }
+
+    static List<SimpleMailMessage> messages(int count) {
+        List<SimpleMailMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom("kargo@example.com");
+            message.setTo("alici" + i + "@example.com");
+            message.setSubject("Kargo Durum Güncellemesi - Takip No: " + i);
+            message.setText("Sayın Alıcı,\n\nKargonuzun durumu güncellenmiştir.\nKargo Takip Sistemi");
+            messages.add(message);
+        }
+        return messages;
+    }
+}
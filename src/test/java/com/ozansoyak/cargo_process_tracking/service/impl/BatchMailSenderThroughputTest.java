@@ -0,0 +1,73 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Yerel SMTP karşılığına karşı sürekli gönderim hızını ölçer: EmailOutboxDispatcher'ın yaptığı gibi
+ * sınırlı eşzamanlılıkla, grup başına tek bağlantı kullanan gönderim ile mesaj başına bağlantı açan eski yol.
+ * Yalnızca CARGO_MAIL_BENCHMARK_MESSAGES tanımlıysa çalışır, örn:
+ * CARGO_MAIL_BENCHMARK_MESSAGES=2000 mvn test -Dtest=BatchMailSenderThroughputTest
+ */
+@EnabledIfEnvironmentVariable(named = "CARGO_MAIL_BENCHMARK_MESSAGES", matches = "\\d+")
+class BatchMailSenderThroughputTest {
+
+    private static final int GROUP_SIZE = 50;
+    private static final int CONCURRENCY = 4;
+
+    @Test
+    void batchedDispatchReusesConnectionsAndOutperformsPerMessageSending() throws Exception {
+        int messageCount = Integer.parseInt(System.getenv("CARGO_MAIL_BENCHMARK_MESSAGES"));
+        try (LocalSmtpServer server = new LocalSmtpServer()) {
+            BatchMailSender batchMailSender = new BatchMailSender(BatchMailSenderTest.mailSender(server.getPort()));
+            List<SimpleMailMessage> messages = BatchMailSenderTest.messages(messageCount);
+
+            ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+            long start = System.nanoTime();
+            List<CompletableFuture<Map<Integer, Exception>>> futures = new ArrayList<>();
+            for (int from = 0; from < messages.size(); from += GROUP_SIZE) {
+                Map<Integer, SimpleMailMessage> group = new LinkedHashMap<>();
+                for (int i = from; i < Math.min(from + GROUP_SIZE, messages.size()); i++) {
+                    group.put(i, messages.get(i));
+                }
+                futures.add(CompletableFuture.supplyAsync(() -> batchMailSender.sendAll(group), executor));
+            }
+            long failures = futures.stream().map(CompletableFuture::join).mapToInt(Map::size).sum();
+            double batchedSeconds = (System.nanoTime() - start) / 1e9;
+            executor.shutdown();
+            int batchedConnections = server.getOpenedConnections();
+
+            assertThat(failures).isZero();
+            assertThat(server.getReceivedMessages()).isEqualTo(messageCount);
+            assertThat(batchedConnections).isEqualTo((messageCount + GROUP_SIZE - 1) / GROUP_SIZE);
+
+            // Karşılaştırma: eski @Async yolu gibi her mesaj için ayrı SMTP oturumu
+            JavaMailSenderImpl perMessageSender = BatchMailSenderTest.mailSender(server.getPort());
+            int sample = Math.min(messageCount, 500);
+            start = System.nanoTime();
+            for (int i = 0; i < sample; i++) {
+                perMessageSender.send(messages.get(i));
+            }
+            double perMessageSeconds = (System.nanoTime() - start) / 1e9;
+
+            double batchedRate = messageCount / batchedSeconds;
+            double perMessageRate = sample / perMessageSeconds;
+            System.out.printf("E-posta gönderimi: gruplu %.0f mesaj/sn (%d bağlantı), mesaj başına bağlantı %.0f mesaj/sn%n",
+                    batchedRate, batchedConnections, perMessageRate);
+            assertThat(server.getReceivedMessages()).isEqualTo(messageCount + sample);
+            assertThat(batchedRate).isGreaterThan(perMessageRate);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BpmnMetadataCacheTest {
+
+    private static final String PROCESS_DEFINITION_ID = "cargoTrackingProcessV3:1:test";
+
+    private RepositoryService repositoryService;
+    private BpmnMetadataCache cache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        BpmnModelInstance model;
+        try (InputStream inputStream = getClass().getResourceAsStream("/processes/cargoTrackingProcessV3.bpmn")) {
+            model = Bpmn.readModelFromStream(inputStream);
+        }
+        repositoryService = mock(RepositoryService.class);
+        when(repositoryService.getBpmnModelInstance(PROCESS_DEFINITION_ID)).thenReturn(model);
+        cache = new BpmnMetadataCache(repositoryService);
+    }
+
+    @Test
+    void everyStatusUpdateTaskResolvesToStatusPresentation() {
+        Map<String, CargoStatus> expected = Map.of(
+                "task_UpdateStatusReceived", CargoStatus.RECEIVED,
+                "task_UpdateStatusLoaded1", CargoStatus.LOADED_ON_VEHICLE_1,
+                "task_UpdateStatusTransferCenter", CargoStatus.AT_TRANSFER_CENTER,
+                "task_UpdateStatusLoaded2", CargoStatus.LOADED_ON_VEHICLE_2,
+                "task_UpdateStatusDistributionArea", CargoStatus.AT_DISTRIBUTION_HUB,
+                "task_UpdateStatusOutForDelivery", CargoStatus.OUT_FOR_DELIVERY,
+                "task_UpdateStatusDelivered", CargoStatus.DELIVERED,
+                "task_UpdateStatusCancelled", CargoStatus.CANCELLED);
+
+        expected.forEach((activityId, status) -> {
+            BpmnMetadataCache.ActivityMetadata metadata = cache.get(PROCESS_DEFINITION_ID, activityId);
+            CargoStatusPresentation presentation = CargoStatusPresentation.of(status);
+            assertThat(metadata.targetStatus()).isEqualTo(status);
+            assertThat(metadata.displayName()).isEqualTo(presentation.displayName());
+            assertThat(metadata.badgeClass()).isEqualTo(presentation.badgeClass());
+            assertThat(metadata.location()).isEqualTo(presentation.location()).isNotEqualTo("-");
+        });
+        // Model tanım başına yalnızca bir kez ayrıştırılır
+        verify(repositoryService, times(1)).getBpmnModelInstance(PROCESS_DEFINITION_ID);
+    }
+
+    @Test
+    void userTasksExposeNextStepVariableWithoutStatus() {
+        BpmnMetadataCache.ActivityMetadata metadata = cache.get(PROCESS_DEFINITION_ID, "userTask_ConfirmReceived");
+
+        assertThat(metadata.nextStepVariable()).isEqualTo("canProceedToLoaded1");
+        assertThat(metadata.targetStatus()).isNull();
+        assertThat(cache.get(PROCESS_DEFINITION_ID, "gateway_CheckCancel1")).isNull();
+    }
+}
@@ -0,0 +1,125 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.CargoProcessTrackingApplication;
+import com.ozansoyak.cargo_process_tracking.dto.BatchCargoItemResult;
+import com.ozansoyak.cargo_process_tracking.dto.BatchCargoResponse;
+import com.ozansoyak.cargo_process_tracking.dto.CreateCargoRequest;
+import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import org.camunda.bpm.engine.ManagementService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+
+/**
+ * JMH benchmarkları için gömülü Camunda + H2 üzerinde Spring bağlamını açar ve tekrarlanabilir bir veri kümesi üretir:
+ * kargoların bir kısmı oluşturulmuş halde bırakılır, kalanlar kullanıcı görevleri tamamlanarak süreç boyunca farklı
+ * adımlara kadar ilerletilir. Böylece takip, arama ve panel sorguları gerçekçi geçmiş kayıtları üzerinde çalışır.
+ */
+final class CargoBenchmarkDataset {
+
+    // Sıradaki adım bir öncekinin durum güncelleme işi bitmeden tamamlanamaz
+    static final List<String> TASK_SEQUENCE = List.of(
+            CargoServiceImpl.PHYSICAL_RECEPTION_TASK_KEY,
+            CargoServiceImpl.INVOICE_CREATION_TASK_KEY,
+            "userTask_ConfirmReceived",
+            "userTask_ConfirmLoaded1",
+            "userTask_ConfirmTransfer",
+            "userTask_ConfirmLoaded2",
+            "userTask_ConfirmDistribution",
+            "userTask_ConfirmOutDelivery");
+
+    private static final int CREATE_CHUNK = 1000;
+    private static final Duration JOB_TIMEOUT = Duration.ofMinutes(10);
+
+    private CargoBenchmarkDataset() {
+    }
+
+    /**
+     * CARGO_BENCHMARK_PG_URL tanımlıysa bağlam o PostgreSQL veritabanına (Flyway göçleriyle) bağlanır; böylece
+     * veritabanı gidiş-dönüşleri gerçek ağ maliyetiyle ölçülür. Aksi halde h2 test profiliyle bellek içi H2 kullanılır.
+     */
+    static ConfigurableApplicationContext start(String... overrides) {
+        List<String> args = new ArrayList<>();
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CargoProcessTrackingApplication.class)
+                .web(WebApplicationType.NONE);
+        String postgresUrl = System.getenv("CARGO_BENCHMARK_PG_URL");
+        if (postgresUrl != null && !postgresUrl.isBlank()) {
+            // Komut satırı argümanı olarak verilir; application.yaml'daki PostgreSQL ayarlarını ezmeleri gerekir
+            args.add("--spring.datasource.url=" + postgresUrl);
+            args.add("--spring.datasource.username=" + System.getenv().getOrDefault("CARGO_BENCHMARK_PG_USER", "postgres"));
+            args.add("--spring.datasource.password=" + System.getenv().getOrDefault("CARGO_BENCHMARK_PG_PASSWORD", ""));
+        } else {
+            builder.profiles("h2");
+        }
+        args.addAll(List.of(
+                "--cargo.shipment-history.backfill-on-startup=false",
+                // Takip sorgusunun veritabanı yolu ölçülür; önbellek isabetleri sonucu anlamsız kılar
+                "--cargo.tracking-cache.maximum-size=0",
+                // Giden kutusu ölçüm sırasında SMTP'ye bağlanmaya çalışmasın
+                "--cargo.email.outbox.poll-interval-ms=3600000",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(overrides));
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    /** {@code count} kargo oluşturur; i. kargo TASK_SEQUENCE içinde (i % (adım sayısı + 1)) göreve kadar ilerletilir. */
+    static List<String> seed(ConfigurableApplicationContext context, int count) {
+        CargoService cargoService = context.getBean(CargoService.class);
+        List<String> trackingNumbers = create(context, count);
+
+        for (int step = 0; step < TASK_SEQUENCE.size(); step++) {
+            List<String> advancing = new ArrayList<>();
+            for (int i = 0; i < trackingNumbers.size(); i++) {
+                if (i % (TASK_SEQUENCE.size() + 1) > step) {
+                    advancing.add(trackingNumbers.get(i));
+                }
+            }
+            if (!advancing.isEmpty()) {
+                cargoService.completeTasksInBulk(TASK_SEQUENCE.get(step), advancing, null);
+                awaitJobs(context);
+            }
+        }
+        return trackingNumbers;
+    }
+
+    /** Kargoları oluşturur ve başlangıç işleri bitene, yani ilk kullanıcı görevleri oluşana kadar bekler. */
+    static List<String> create(ConfigurableApplicationContext context, int count) {
+        CargoService cargoService = context.getBean(CargoService.class);
+        List<String> trackingNumbers = new ArrayList<>(count);
+        for (int from = 0; from < count; from += CREATE_CHUNK) {
+            List<CreateCargoRequest> requests = new ArrayList<>();
+            for (int i = from; i < Math.min(from + CREATE_CHUNK, count); i++) {
+                requests.add(cargoRequest(i));
+            }
+            BatchCargoResponse response = cargoService.createCargosInBatch(requests);
+            if (response.getFailureCount() > 0) {
+                throw new IllegalStateException(response.getFailureCount() + " kargo oluşturulamadı.");
+            }
+            response.getItems().stream().map(BatchCargoItemResult::getTrackingNumber).forEach(trackingNumbers::add);
+        }
+        awaitJobs(context);
+        return trackingNumbers;
+    }
+
+    static void awaitJobs(ConfigurableApplicationContext context) {
+        ManagementService managementService = context.getBean(ManagementService.class);
+        long deadline = System.nanoTime() + JOB_TIMEOUT.toNanos();
+        while (managementService.createJobQuery().executable().count() > 0) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Camunda işleri " + JOB_TIMEOUT + " içinde tamamlanmadı.");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
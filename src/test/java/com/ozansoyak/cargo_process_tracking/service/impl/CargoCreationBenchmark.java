@@ -0,0 +1,76 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.dto.BatchCargoResponse;
+import com.ozansoyak.cargo_process_tracking.dto.CargoResponse;
+import com.ozansoyak.cargo_process_tracking.dto.CreateCargoRequest;
+import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+
+/**
+ * Kargo oluşturma + süreç başlatma yolunun saniyedeki kargo sayısı. Toplu yol için sonuç kargo başına verilir.
+ * Süreç motorunun iş yürütücüsü kapatılır; başlangıç işleri arka planda çalışıp ölçülen iş parçacığıyla yarışmaz.
+ * mvn -Pbenchmark test -Dbenchmark.include=CargoCreationBenchmark
+ * CARGO_BENCHMARK_PG_URL=jdbc:postgresql://localhost:5432/bench mvn -Pbenchmark test -Dbenchmark.include=CargoCreationBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CargoCreationBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        ConfigurableApplicationContext context;
+        CargoService cargoService;
+        int sequence;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = CargoBenchmarkDataset.start("--camunda.bpm.job-execution.enabled=false");
+            cargoService = context.getBean(CargoService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public CargoResponse createCargoAndStartProcess(Service service) {
+        return service.cargoService.createCargoAndStartProcess(cargoRequest(service.sequence++));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchCargoResponse createCargosInBatch(Service service) {
+        List<CreateCargoRequest> requests = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            requests.add(cargoRequest(service.sequence++));
+        }
+        return service.cargoService.createCargosInBatch(requests);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.ManagementService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CargoMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ManagementService managementService = mock(ManagementService.class, Answers.RETURNS_DEEP_STUBS);
+    private final CargoMetrics metrics = new CargoMetrics(registry, managementService);
+
+    @Test
+    void recordsOutcomeTagForSuccessfulAndFailedCalls() {
+        assertThat(metrics.record(CargoMetrics.TASK_COMPLETION, () -> "ok", "task", "userTask_ConfirmReceived")).isEqualTo("ok");
+        assertThatThrownBy(() -> metrics.record(CargoMetrics.TASK_COMPLETION, (Runnable) () -> {
+            throw new IllegalStateException("hata");
+        }, "task", "userTask_ConfirmReceived")).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get(CargoMetrics.TASK_COMPLETION).tags("task", "userTask_ConfirmReceived", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get(CargoMetrics.TASK_COMPLETION).tags("task", "userTask_ConfirmReceived", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsTransitionsWithNoneAsSourceForNewCargos() {
+        metrics.recordTransition(null, CargoStatus.PENDING, 3);
+        metrics.recordTransition(CargoStatus.PENDING, CargoStatus.RECEIVED, 1);
+
+        assertThat(registry.get("cargo.status.transitions").tags("from", "NONE", "to", "PENDING").counter().count()).isEqualTo(3);
+        assertThat(registry.get("cargo.status.transitions").tags("from", "PENDING", "to", "RECEIVED").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void jobBacklogGaugeReadsTheLastRefreshedCountWithoutQuerying() {
+        when(managementService.createJobQuery().executable().count()).thenReturn(7L, 3L);
+        metrics.registerGauges();
+
+        assertThat(registry.get("cargo.camunda.jobs.executable").gauge().value()).isZero();
+        metrics.refreshExecutableJobCount();
+        assertThat(registry.get("cargo.camunda.jobs.executable").gauge().value()).isEqualTo(7);
+        assertThat(registry.get("cargo.camunda.jobs.executable").gauge().value()).isEqualTo(7);
+        metrics.refreshExecutableJobCount();
+        assertThat(registry.get("cargo.camunda.jobs.executable").gauge().value()).isEqualTo(3);
+
+        // Gösterge okumaları sorgu göndermez; yalnızca iki yenileme sayılır
+        verify(managementService.createJobQuery().executable(), times(2)).count();
+    }
+}
@@ -0,0 +1,181 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.dto.CargoResponse;
+import com.ozansoyak.cargo_process_tracking.dto.CargoSearchCriteria;
+import com.ozansoyak.cargo_process_tracking.dto.CargoSearchResultDto;
+import com.ozansoyak.cargo_process_tracking.dto.PanelDataDto;
+import com.ozansoyak.cargo_process_tracking.dto.TaskCompletionResponse;
+import com.ozansoyak.cargo_process_tracking.dto.TrackingInfoResponse;
+import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
+import com.ozansoyak.cargo_process_tracking.service.CargoService;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.ozansoyak.cargo_process_tracking.CargoTestRequests.cargoRequest;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CargoServiceImpl'in sıcak yolları ve CargoStatusUpdateWorker.execute için gecikme ölçümleri. Her benchmark kendi
+ * JVM'inde gömülü Camunda + H2 bağlamını açar ve CargoBenchmarkDataset ile aynı veri kümesini üretir.
+ * Sonuçlar benchmark profilinde target/jmh-result.json dosyasına yazılır; CI sürümler arasında bu dosyayı karşılaştırır:
+ * mvn -Pbenchmark test -Dbenchmark.include=CargoServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CargoServiceBenchmark {
+
+    private static final String[] STATUS_UPDATE_ACTIVITIES = {"task_UpdateStatusLoaded1", "task_UpdateStatusTransferCenter"};
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        @Param("1000")
+        public int datasetSize;
+
+        ConfigurableApplicationContext context;
+        CargoService cargoService;
+        List<String> trackingNumbers;
+        int cursor;
+        int createdCount;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = CargoBenchmarkDataset.start();
+            cargoService = context.getBean(CargoService.class);
+            trackingNumbers = CargoBenchmarkDataset.seed(context, datasetSize);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        String nextTrackingNumber() {
+            cursor = (cursor + 1) % trackingNumbers.size();
+            return trackingNumbers.get(cursor);
+        }
+    }
+
+    /** Fiziksel kabul görevi açık kargolar; tükenince ölçüm dışında yeni kargolar oluşturulur. */
+    @State(Scope.Thread)
+    public static class PendingReceptionTasks {
+
+        private static final int REFILL = 200;
+
+        final ArrayDeque<String> trackingNumbers = new ArrayDeque<>();
+
+        @Setup(Level.Invocation)
+        public void refill(Service service) {
+            if (trackingNumbers.isEmpty()) {
+                trackingNumbers.addAll(CargoBenchmarkDataset.create(service.context, REFILL));
+            }
+        }
+    }
+
+    /** Veri kümesindeki kargolar için durum güncelleme çağrıları; her turda hedef durum değişir, böylece güncelleme atlanmaz. */
+    @State(Scope.Thread)
+    public static class StatusUpdateExecutions {
+
+        private static final AtomicLong ACTIVITY_INSTANCE_SEQUENCE = new AtomicLong();
+
+        JavaDelegate statusUpdater;
+        DelegateExecution[][] executions;
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(Service service) {
+            statusUpdater = service.context.getBean("cargoStatusUpdater", JavaDelegate.class);
+            String processDefinitionId = service.context.getBean(RepositoryService.class).createProcessDefinitionQuery()
+                    .processDefinitionKey(CargoServiceImpl.CAMUNDA_PROCESS_DEFINITION_KEY).latestVersion().singleResult().getId();
+            List<Cargo> cargos = service.context.getBean(CargoRepository.class).findByTrackingNumberIn(service.trackingNumbers);
+            executions = new DelegateExecution[STATUS_UPDATE_ACTIVITIES.length][cargos.size()];
+            for (int a = 0; a < STATUS_UPDATE_ACTIVITIES.length; a++) {
+                for (int c = 0; c < cargos.size(); c++) {
+                    executions[a][c] = execution(processDefinitionId, STATUS_UPDATE_ACTIVITIES[a], cargos.get(c));
+                }
+            }
+        }
+
+        DelegateExecution next() {
+            int cargoCount = executions[0].length;
+            DelegateExecution execution = executions[(cursor / cargoCount) % executions.length][cursor % cargoCount];
+            cursor++;
+            return execution;
+        }
+
+        private static DelegateExecution execution(String processDefinitionId, String activityId, Cargo cargo) {
+            DelegateExecution execution = mock(DelegateExecution.class);
+            when(execution.getId()).thenReturn("benchmark-" + activityId + "-" + cargo.getId());
+            when(execution.getCurrentActivityId()).thenReturn(activityId);
+            when(execution.getCurrentActivityName()).thenReturn(activityId);
+            // Durum olayları aktivite örneği başına tekildir; her çağrı yeni bir aktivite örneği gibi davranır
+            when(execution.getActivityInstanceId()).thenAnswer(invocation -> activityId + ":" + cargo.getId() + ":" + ACTIVITY_INSTANCE_SEQUENCE.incrementAndGet());
+            when(execution.getProcessInstanceId()).thenReturn(cargo.getProcessInstanceId());
+            when(execution.getProcessDefinitionId()).thenReturn(processDefinitionId);
+            when(execution.getVariable("cargoId")).thenReturn(cargo.getId());
+            return execution;
+        }
+    }
+
+    @Benchmark
+    public TrackingInfoResponse getTrackingInfo(Service service) {
+        return service.cargoService.getTrackingInfo(service.nextTrackingNumber());
+    }
+
+    @Benchmark
+    public Page<CargoSearchResultDto> searchCargos(Service service) {
+        CargoSearchCriteria criteria = new CargoSearchCriteria();
+        criteria.setCustomerInfo("Alıcı " + (service.cursor++ % 100));
+        return service.cargoService.searchCargos(criteria, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "lastUpdatedAt")));
+    }
+
+    @Benchmark
+    public PanelDataDto getPanelData(Service service) {
+        return service.cargoService.getPanelData();
+    }
+
+    @Benchmark
+    public CargoResponse createCargoAndStartProcess(Service service) {
+        return service.cargoService.createCargoAndStartProcess(cargoRequest(service.datasetSize + service.createdCount++));
+    }
+
+    @Benchmark
+    public TaskCompletionResponse completeUserTaskAndPrepareNextStep(Service service, PendingReceptionTasks tasks) {
+        return service.cargoService.completeUserTaskAndPrepareNextStep(tasks.trackingNumbers.poll(), CargoServiceImpl.PHYSICAL_RECEPTION_TASK_KEY, null);
+    }
+
+    @Benchmark
+    public DelegateExecution statusUpdateWorkerExecute(StatusUpdateExecutions executions) throws Exception {
+        DelegateExecution execution = executions.next();
+        executions.statusUpdater.execute(execution);
+        return execution;
+    }
+}
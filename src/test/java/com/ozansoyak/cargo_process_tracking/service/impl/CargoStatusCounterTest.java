@@ -0,0 +1,102 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.repository.CargoRepository;
+import com.ozansoyak.cargo_process_tracking.repository.CargoStatusCount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.ManagementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CargoStatusCounterTest {
+
+    private final CargoRepository cargoRepository = mock(CargoRepository.class);
+    private final CargoStatusCounter counter = new CargoStatusCounter(cargoRepository,
+            new CargoMetrics(new SimpleMeterRegistry(), mock(ManagementService.class)));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void appliesDeltaOnlyAfterCommit() {
+        when(cargoRepository.countGroupedByCurrentStatus()).thenReturn(List.of(row(CargoStatus.PENDING, 4)));
+        counter.reconcile();
+
+        TransactionSynchronizationManager.initSynchronization();
+        counter.recordTransition(CargoStatus.PENDING, CargoStatus.RECEIVED);
+        assertThat(counter.count(CargoStatus.RECEIVED)).isZero();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        TransactionSynchronizationManager.initSynchronization();
+        counter.recordCreated(CargoStatus.PENDING, 2);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(counter.count(CargoStatus.PENDING)).isEqualTo(3);
+        assertThat(counter.count(CargoStatus.RECEIVED)).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileWaitsForCommittedDeltaInsteadOfCountingItTwice() throws Exception {
+        when(cargoRepository.countGroupedByCurrentStatus()).thenReturn(List.of(row(CargoStatus.PENDING, 4)));
+        counter.reconcile();
+
+        TransactionSynchronizationManager.initSynchronization();
+        counter.recordCreated(CargoStatus.PENDING, 1);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        // Satır commit edildi ama fark henüz uygulanmadı; eşitleme sorgusu yeni satırı görür
+        when(cargoRepository.countGroupedByCurrentStatus()).thenReturn(List.of(row(CargoStatus.PENDING, 5)));
+
+        CompletableFuture<Void> reconcile = CompletableFuture.runAsync(counter::reconcile);
+        assertThatThrownBy(() -> reconcile.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        reconcile.get(5, TimeUnit.SECONDS);
+
+        assertThat(counter.count(CargoStatus.PENDING)).isEqualTo(5);
+    }
+
+    private static void complete(int status) {
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        }
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private static CargoStatusCount row(CargoStatus status, long total) {
+        return new CargoStatusCount() {
+            @Override
+            public CargoStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+}
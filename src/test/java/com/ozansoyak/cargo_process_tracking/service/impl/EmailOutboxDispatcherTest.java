@@ -0,0 +1,184 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus;
+import com.ozansoyak.cargo_process_tracking.repository.EmailOutboxRepository;
+import com.ozansoyak.cargo_process_tracking.service.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.camunda.bpm.engine.ManagementService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    private static final long INITIAL_BACKOFF_MS = 30_000;
+    private static final long MAX_BACKOFF_MS = 600_000;
+    private static final int MAX_ATTEMPTS = 6;
+
+    private EmailOutboxRepository repository;
+    private BatchMailSender batchMailSender;
+    private EmailOutboxDispatcher dispatcher;
+    private final Set<Long> failingIds = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+        EmailService emailService = mock(EmailService.class);
+        batchMailSender = mock(BatchMailSender.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(emailService.buildStatusChangeMessage(any())).thenAnswer(invocation -> new SimpleMailMessage());
+        when(batchMailSender.sendAll(any())).thenAnswer(invocation -> {
+            Map<Long, Exception> failures = new HashMap<>();
+            Map<Long, SimpleMailMessage> messages = invocation.getArgument(0);
+            messages.keySet().stream().filter(failingIds::contains)
+                    .forEach(id -> failures.put(id, new MailSendException("x".repeat(1500))));
+            return failures;
+        });
+        when(repository.markSent(anyCollection(), any(), any())).thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+        when(repository.markFailed(anyLong(), any(), any(), anyInt(), any(), anyString())).thenReturn(1);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(repository, emailService, batchMailSender, transactionManager, meterRegistry,
+                new CargoMetrics(meterRegistry, mock(ManagementService.class)));
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "concurrency", 1);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", INITIAL_BACKOFF_MS);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", MAX_BACKOFF_MS);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", 120_000L);
+        dispatcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void sentNotificationsAreMarkedWithTheLeaseTheyWereClaimedWith() {
+        claim(notification(1L, 0), notification(2L, 0));
+
+        dispatcher.dispatch();
+
+        LocalDateTime lease = capturedLease();
+        verify(repository).markSent(eq(List.of(1L, 2L)), eq(lease), any());
+        verify(repository, never()).markFailed(anyLong(), any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void failedSendIsRetriedWithExponentialBackoffAndTruncatedError() {
+        failingIds.addAll(List.of(1L, 2L, 3L));
+        claim(notification(1L, 0), notification(2L, 2), notification(3L, 4));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        LocalDateTime lease = capturedLease();
+        assertRetry(1L, lease, 1, before.plus(Duration.ofMillis(INITIAL_BACKOFF_MS)));
+        assertRetry(2L, lease, 3, before.plus(Duration.ofMillis(INITIAL_BACKOFF_MS * 4)));
+        // 30 sn * 2^4 = 480 sn; bir sonraki adım üst sınıra (600 sn) takılır
+        assertRetry(3L, lease, 5, before.plus(Duration.ofMillis(INITIAL_BACKOFF_MS * 16)));
+        verify(repository, never()).markSent(anyCollection(), any(), any());
+    }
+
+    @Test
+    void backoffIsCappedAtMaximum() {
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 20);
+        failingIds.add(1L);
+        claim(notification(1L, 10));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        LocalDateTime lease = capturedLease();
+        assertRetry(1L, lease, 11, before.plus(Duration.ofMillis(MAX_BACKOFF_MS)));
+    }
+
+    @Test
+    void lastAllowedAttemptMarksNotificationDead() {
+        failingIds.add(1L);
+        claim(notification(1L, MAX_ATTEMPTS - 1));
+
+        dispatcher.dispatch();
+
+        LocalDateTime lease = capturedLease();
+        verify(repository).markFailed(eq(1L), eq(lease), eq(EmailOutboxStatus.DEAD), eq(MAX_ATTEMPTS), any(), anyString());
+    }
+
+    @Test
+    void lostLeaseIsNotTreatedAsRecordedFailure() {
+        failingIds.add(1L);
+        when(repository.markFailed(anyLong(), any(), any(), anyInt(), any(), anyString())).thenReturn(0);
+        claim(notification(1L, 0));
+
+        dispatcher.dispatch();
+
+        // Kira kaybedildiğinde tek bir güncelleme denemesi yapılır, kayıt başka bir durumla yeniden yazılmaz
+        LocalDateTime lease = capturedLease();
+        verify(repository).markFailed(eq(1L), eq(lease), eq(EmailOutboxStatus.PENDING), eq(1), any(), anyString());
+    }
+
+    private void assertRetry(Long id, LocalDateTime lease, int attempts, LocalDateTime expectedNextAttempt) {
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+        verify(repository).markFailed(eq(id), eq(lease), eq(EmailOutboxStatus.PENDING), eq(attempts), nextAttempt.capture(), error.capture());
+        assertThat(nextAttempt.getValue()).isCloseTo(expectedNextAttempt, within(5, ChronoUnit.SECONDS));
+        assertThat(error.getValue()).hasSize(1000);
+    }
+
+    private LocalDateTime capturedLease() {
+        ArgumentCaptor<LocalDateTime> lease = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).lease(anyCollection(), lease.capture());
+        return lease.getValue();
+    }
+
+    private void claim(EmailOutbox... notifications) {
+        when(repository.findDueForUpdate(eq(EmailOutboxStatus.PENDING), any(), any(Limit.class))).thenReturn(List.of(notifications));
+    }
+
+    private static EmailOutbox notification(Long id, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .cargoId(id)
+                .trackingNumber("26100000000000000" + id)
+                .recipient("alici" + id + "@example.com")
+                .cargoStatus(CargoStatus.RECEIVED)
+                .statusTrail(CargoStatus.RECEIVED.name())
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.Cargo;
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import com.ozansoyak.cargo_process_tracking.model.enums.EmailOutboxStatus;
+import com.ozansoyak.cargo_process_tracking.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailServiceImplTest {
+
+    private static final long WINDOW_SECONDS = 30;
+
+    private final Cargo cargo = Cargo.builder()
+            .id(42L)
+            .trackingNumber("123456")
+            .receiverName("Ayşe Yılmaz")
+            .receiverCity("İzmir")
+            .receiverEmail("ayse@example.com")
+            .build();
+
+    private EmailOutboxRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailServiceImpl emailService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        emailService = new EmailServiceImpl(repository, meterRegistry, new EmailTemplateRenderer());
+        ReflectionTestUtils.setField(emailService, "emailFrom", "kargo@example.com");
+        ReflectionTestUtils.setField(emailService, "coalesceWindowSeconds", WINDOW_SECONDS);
+        emailService.registerMetrics();
+    }
+
+    @Test
+    void appendsStatusToDigestWhileWindowIsOpen() {
+        EmailOutbox digest = openDigest(LocalDateTime.now().minusSeconds(5), "RECEIVED");
+        when(repository.findOpenDigestForUpdate(eq(42L), eq("ayse@example.com"), any(), any())).thenReturn(List.of(digest));
+
+        emailService.enqueueStatusChangeNotification(cargo, CargoStatus.LOADED_ON_VEHICLE_1);
+        emailService.enqueueStatusChangeNotification(cargo, CargoStatus.AT_TRANSFER_CENTER);
+
+        verify(repository, never()).save(any());
+        assertThat(digest.getStatusTrail()).isEqualTo("RECEIVED,LOADED_ON_VEHICLE_1,AT_TRANSFER_CENTER");
+        assertThat(digest.getCargoStatus()).isEqualTo(CargoStatus.AT_TRANSFER_CENTER);
+        assertThat(counter("coalesced")).isEqualTo(2);
+        assertThat(meterRegistry.get("cargo.email.notifications.coalescing.ratio").gauge().value()).isEqualTo(1.0);
+
+        // Birleştirilen bildirim tek e-postada son durumu ve ara adımları gösterir
+        assertThat(emailService.buildStatusChangeMessage(digest).getText())
+                .contains("Yeni Durum: Transfer Merkezinde")
+                .contains("Ara Adımlar: Kargo Alındı → İlk Taşıma Aracına Yüklendi");
+    }
+
+    @Test
+    void queriesOnlyDigestsCreatedInsideTheWindowAndOpensNewRowOtherwise() {
+        when(repository.findOpenDigestForUpdate(anyLong(), anyString(), any(), any())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        emailService.enqueueStatusChangeNotification(cargo, CargoStatus.RECEIVED);
+
+        ArgumentCaptor<LocalDateTime> windowStart = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).findOpenDigestForUpdate(eq(42L), eq("ayse@example.com"), windowStart.capture(), eq(Limit.of(1)));
+        assertThat(windowStart.getValue()).isCloseTo(before.minusSeconds(WINDOW_SECONDS), within(1, ChronoUnit.SECONDS));
+
+        EmailOutbox saved = savedNotification();
+        assertThat(saved.getStatusTrail()).isEqualTo("RECEIVED");
+        assertThat(saved.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(saved.getAttempts()).isZero();
+        // Pencere kapanana kadar dağıtıcı kaydı almaz
+        assertThat(Duration.between(saved.getCreatedAt(), saved.getNextAttemptAt())).isEqualTo(Duration.ofSeconds(WINDOW_SECONDS));
+        assertThat(counter("enqueued")).isEqualTo(1);
+    }
+
+    @Test
+    void opensNewRowWhenWindowClosedWhileWaitingForTheLock() {
+        // Kilit beklenirken pencere dolmuş ve kayıt dağıtıcı tarafından alınmış olabilir
+        EmailOutbox digest = openDigest(LocalDateTime.now().minusSeconds(WINDOW_SECONDS + 1), "RECEIVED");
+        when(repository.findOpenDigestForUpdate(anyLong(), anyString(), any(), any())).thenReturn(List.of(digest));
+
+        emailService.enqueueStatusChangeNotification(cargo, CargoStatus.LOADED_ON_VEHICLE_1);
+
+        assertThat(digest.getStatusTrail()).isEqualTo("RECEIVED");
+        assertThat(savedNotification().getStatusTrail()).isEqualTo("LOADED_ON_VEHICLE_1");
+    }
+
+    @Test
+    void opensNewRowWhenStatusTrailWouldOverflowColumn() {
+        String fullTrail = String.join(EmailOutbox.STATUS_TRAIL_SEPARATOR, Collections.nCopies(25, CargoStatus.AT_DISTRIBUTION_HUB.name()));
+        assertThat(fullTrail.length()).isLessThanOrEqualTo(500);
+        assertThat(fullTrail.length() + 1 + CargoStatus.AT_DISTRIBUTION_HUB.name().length()).isGreaterThan(500);
+        EmailOutbox digest = openDigest(LocalDateTime.now().minusSeconds(5), fullTrail);
+        when(repository.findOpenDigestForUpdate(anyLong(), anyString(), any(), any())).thenReturn(List.of(digest));
+
+        emailService.enqueueStatusChangeNotification(cargo, CargoStatus.AT_DISTRIBUTION_HUB);
+
+        assertThat(digest.getStatusTrail()).isEqualTo(fullTrail);
+        EmailOutbox saved = savedNotification();
+        assertThat(saved.getStatusTrail()).isEqualTo("AT_DISTRIBUTION_HUB");
+        assertThat(saved.getCargoStatus()).isEqualTo(CargoStatus.AT_DISTRIBUTION_HUB);
+    }
+
+    @Test
+    void zeroWindowDisablesCoalescing() {
+        ReflectionTestUtils.setField(emailService, "coalesceWindowSeconds", 0L);
+
+        emailService.enqueueStatusChangeNotification(cargo, CargoStatus.DELIVERED);
+
+        verify(repository, never()).findOpenDigestForUpdate(anyLong(), anyString(), any(), any());
+        EmailOutbox saved = savedNotification();
+        assertThat(saved.getNextAttemptAt()).isEqualTo(saved.getCreatedAt());
+        assertThat(saved.getStatusTrail()).isEqualTo("DELIVERED");
+    }
+
+    private EmailOutbox openDigest(LocalDateTime createdAt, String statusTrail) {
+        String[] statuses = statusTrail.split(EmailOutbox.STATUS_TRAIL_SEPARATOR);
+        return EmailOutbox.builder()
+                .id(7L)
+                .cargoId(cargo.getId())
+                .trackingNumber(cargo.getTrackingNumber())
+                .recipient(cargo.getReceiverEmail())
+                .receiverName(cargo.getReceiverName())
+                .receiverCity(cargo.getReceiverCity())
+                .cargoStatus(CargoStatus.valueOf(statuses[statuses.length - 1]))
+                .statusChangedAt(createdAt)
+                .statusTrail(statusTrail)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(createdAt.plusSeconds(WINDOW_SECONDS))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private EmailOutbox savedNotification() {
+        ArgumentCaptor<EmailOutbox> saved = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(repository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("cargo.email.notifications").tag("result", result).counter().count();
+    }
+}
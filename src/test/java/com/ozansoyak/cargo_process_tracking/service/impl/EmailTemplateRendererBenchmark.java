@@ -0,0 +1,101 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toplu bildirim turunda mesaj başına render maliyeti: önceden derlenmiş şablonlar ile eski
+ * String.format tabanlı oluşturma karşılaştırılır. Mesaj başına ayırma miktarı için "-prof gc" çıktısındaki
+ * gc.alloc.rate.norm değerine bakılır (benchmark profili bunu varsayılan olarak açar).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateRendererBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private EmailTemplateRenderer renderer;
+    private EmailOutbox[] notifications;
+
+    @Setup
+    public void setUp() {
+        renderer = new EmailTemplateRenderer();
+        CargoStatus[] statuses = CargoStatus.values();
+        notifications = new EmailOutbox[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            CargoStatus status = statuses[i % statuses.length];
+            notifications[i] = EmailOutbox.builder()
+                    .trackingNumber(String.valueOf(261000015169900000L + i))
+                    .receiverName("Alıcı " + i)
+                    .receiverCity("İzmir")
+                    .cargoStatus(status)
+                    .statusTrail(i % 4 == 0 ? "RECEIVED," + status.name() : status.name())
+                    .statusChangedAt(LocalDateTime.of(2024, 5, 1, 10, 30).plusMinutes(i))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void precompiledTemplates(Blackhole blackhole) {
+        for (EmailOutbox notification : notifications) {
+            blackhole.consume(renderer.renderSubject(notification));
+            blackhole.consume(renderer.renderBody(notification));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void legacyStringFormat(Blackhole blackhole) {
+        for (EmailOutbox notification : notifications) {
+            blackhole.consume(legacySubject(notification));
+            blackhole.consume(legacyBody(notification));
+        }
+    }
+
+    // Şablon katmanından önceki EmailServiceImpl davranışı (ara adımlar satırı hariç)
+    private static String legacySubject(EmailOutbox notification) {
+        String statusDescription = CargoStatusPresentation.of(notification.getCargoStatus()).emailDisplayName();
+        return String.format("Kargo Durum Güncellemesi - Takip No: %s, Durum: %s", notification.getTrackingNumber(), statusDescription);
+    }
+
+    private static String legacyBody(EmailOutbox notification) {
+        CargoStatus newStatus = notification.getCargoStatus();
+        String statusDescription = CargoStatusPresentation.of(newStatus).emailDisplayName();
+        StringBuilder textBuilder = new StringBuilder();
+        textBuilder.append(String.format("Sayın %s,\n\n", notification.getReceiverName()));
+        textBuilder.append(String.format("%s takip numaralı kargonuzun durumu güncellenmiştir.\n\n", notification.getTrackingNumber()));
+        textBuilder.append(String.format("Yeni Durum: %s\n", statusDescription));
+        switch (newStatus) {
+            case OUT_FOR_DELIVERY -> textBuilder.append("Kargonuz bugün teslimat için dağıtıma çıkarılmıştır.\n");
+            case DELIVERED -> textBuilder.append(String.format("Kargonuz %s tarihinde başarıyla teslim edilmiştir.\n",
+                    notification.getStatusChangedAt().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm"))));
+            case AT_TRANSFER_CENTER -> textBuilder.append(String.format("Kargonuz %s transfer merkezine ulaşmıştır.\n", notification.getReceiverCity()));
+            case CANCELLED -> textBuilder.append("Kargo gönderiniz iptal edilmiştir.\n");
+            default -> {
+            }
+        }
+        textBuilder.append("Kargo Takip Sistemi");
+        return textBuilder.toString();
+    }
+}
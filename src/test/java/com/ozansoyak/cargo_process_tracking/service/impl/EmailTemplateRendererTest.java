@@ -0,0 +1,56 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.model.EmailOutbox;
+import com.ozansoyak.cargo_process_tracking.model.enums.CargoStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailTemplateRendererTest {
+
+    private final EmailTemplateRenderer renderer = new EmailTemplateRenderer();
+
+    @Test
+    void rendersDeliveredMessageWithFormattedDate() {
+        EmailOutbox notification = notification(CargoStatus.DELIVERED, "DELIVERED");
+
+        assertThat(renderer.renderSubject(notification))
+                .isEqualTo("Kargo Durum Güncellemesi - Takip No: 123456, Durum: Teslim Edildi");
+        assertThat(renderer.renderBody(notification)).isEqualTo("""
+                Sayın Ayşe Yılmaz,
+
+                123456 takip numaralı kargonuzun durumu güncellenmiştir.
+
+                Yeni Durum: Teslim Edildi
+                Kargonuz 01.05.2024 09:05 tarihinde başarıyla teslim edilmiştir.
+                Kargo Takip Sistemi""");
+    }
+
+    @Test
+    void listsIntermediateStepsOfCoalescedNotification() {
+        EmailOutbox notification = notification(CargoStatus.AT_TRANSFER_CENTER, "RECEIVED,LOADED_ON_VEHICLE_1,AT_TRANSFER_CENTER");
+
+        assertThat(renderer.renderBody(notification)).isEqualTo("""
+                Sayın Ayşe Yılmaz,
+
+                123456 takip numaralı kargonuzun durumu güncellenmiştir.
+
+                Yeni Durum: Transfer Merkezinde
+                Ara Adımlar: Kargo Alındı → İlk Taşıma Aracına Yüklendi
+                Kargonuz İzmir transfer merkezine ulaşmıştır.
+                Kargo Takip Sistemi""");
+    }
+
+    private static EmailOutbox notification(CargoStatus status, String statusTrail) {
+        return EmailOutbox.builder()
+                .trackingNumber("123456")
+                .receiverName("Ayşe Yılmaz")
+                .receiverCity("İzmir")
+                .cargoStatus(status)
+                .statusTrail(statusTrail)
+                .statusChangedAt(LocalDateTime.of(2024, 5, 1, 9, 5))
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.ozansoyak.cargo_process_tracking.service.impl;
+
+import com.ozansoyak.cargo_process_tracking.exception.TrackingNumberGenerationException;
+import com.ozansoyak.cargo_process_tracking.service.TrackingNumberLeaseStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeTrackingNumberGeneratorTest {
+
+    private static final ZoneId ISTANBUL = ZoneId.of("Europe/Istanbul");
+
+    @Test
+    void concurrentGenerationAcrossThreadsAndNodesProducesNoDuplicates() throws Exception {
+        int nodeCount = 4;
+        int threadsPerNode = 8;
+        int idsPerThread = 25_000;
+        // Saat sabit tutulur; böylece tüm düğümler sayaç taşması ve saniye ödünç alma yolunu da kullanır.
+        Clock frozenClock = Clock.fixed(Instant.parse("2026-10-18T10:15:30Z"), ISTANBUL);
+        InMemoryLeaseStore leaseStore = new InMemoryLeaseStore();
+        List<SnowflakeTrackingNumberGenerator> generators = new ArrayList<>();
+        for (int node = 0; node < nodeCount; node++) {
+            generators.add(new SnowflakeTrackingNumberGenerator(node * 7, frozenClock, leaseStore));
+        }
+
+        Set<String> issued = ConcurrentHashMap.newKeySet(nodeCount * threadsPerNode * idsPerThread);
+        ExecutorService pool = Executors.newFixedThreadPool(nodeCount * threadsPerNode);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (SnowflakeTrackingNumberGenerator generator : generators) {
+            for (int t = 0; t < threadsPerNode; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    int duplicates = 0;
+                    for (int i = 0; i < idsPerThread; i++) {
+                        if (!issued.add(generator.nextTrackingNumber())) {
+                            duplicates++;
+                        }
+                    }
+                    return duplicates;
+                }));
+            }
+        }
+        start.countDown();
+        int duplicates = 0;
+        for (Future<Integer> future : futures) {
+            duplicates += future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertThat(duplicates).isZero();
+        assertThat(issued).hasSize(nodeCount * threadsPerNode * idsPerThread);
+    }
+
+    @Test
+    void realClockGenerationIsUniqueAndValid() throws Exception {
+        SnowflakeTrackingNumberGenerator generator = new SnowflakeTrackingNumberGenerator(1, Clock.system(ISTANBUL), new InMemoryLeaseStore());
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    String trackingNumber = generator.nextTrackingNumber();
+                    assertThat(SnowflakeTrackingNumberGenerator.isValid(trackingNumber)).isTrue();
+                    issued.add(trackingNumber);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertThat(issued).hasSize(8 * 20_000);
+    }
+
+    @Test
+    void clockMovingBackwardsDoesNotReissueNumbers() {
+        AtomicLong epochSecond = new AtomicLong(Instant.parse("2026-10-18T10:15:30Z").getEpochSecond());
+        SnowflakeTrackingNumberGenerator generator = new SnowflakeTrackingNumberGenerator(3, steppingClock(epochSecond), new InMemoryLeaseStore());
+
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            issued.add(generator.nextTrackingNumber());
+        }
+        epochSecond.addAndGet(-3600);
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(issued.add(generator.nextTrackingNumber())).isTrue();
+        }
+    }
+
+    @Test
+    void restartWhileBorrowedSecondsAreAheadDoesNotReissueNumbers() {
+        Clock frozenClock = Clock.fixed(Instant.parse("2026-10-18T10:15:30Z"), ISTANBUL);
+        InMemoryLeaseStore leaseStore = new InMemoryLeaseStore();
+        // Toplu kabulün üst sınırı kadar numara: sayaç dört saniye ileriden ödünç alır
+        Set<String> issued = new HashSet<>();
+        SnowflakeTrackingNumberGenerator beforeRestart = new SnowflakeTrackingNumberGenerator(5, frozenClock, leaseStore);
+        for (int i = 0; i < 5_000; i++) {
+            issued.add(beforeRestart.nextTrackingNumber());
+        }
+
+        // Yeniden başlayan düğüm aynı saniyede, bellekteki son değer olmadan başlar
+        SnowflakeTrackingNumberGenerator afterRestart = new SnowflakeTrackingNumberGenerator(5, frozenClock, leaseStore);
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(issued.add(afterRestart.nextTrackingNumber())).isTrue();
+        }
+    }
+
+    @Test
+    void restartWithClockSetBackDoesNotReissueNumbers() {
+        AtomicLong epochSecond = new AtomicLong(Instant.parse("2026-10-18T10:15:30Z").getEpochSecond());
+        InMemoryLeaseStore leaseStore = new InMemoryLeaseStore();
+        Set<String> issued = new HashSet<>();
+        SnowflakeTrackingNumberGenerator beforeRestart = new SnowflakeTrackingNumberGenerator(5, steppingClock(epochSecond), leaseStore);
+        for (int i = 0; i < 5_000; i++) {
+            issued.add(beforeRestart.nextTrackingNumber());
+        }
+
+        epochSecond.addAndGet(-3600);
+        SnowflakeTrackingNumberGenerator afterRestart = new SnowflakeTrackingNumberGenerator(5, steppingClock(epochSecond), leaseStore);
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(issued.add(afterRestart.nextTrackingNumber())).isTrue();
+        }
+    }
+
+    @Test
+    void leaseIsRenewedOncePerLeasePeriod() {
+        Clock frozenClock = Clock.fixed(Instant.parse("2026-10-18T10:15:30Z"), ISTANBUL);
+        InMemoryLeaseStore leaseStore = new InMemoryLeaseStore();
+        SnowflakeTrackingNumberGenerator generator = new SnowflakeTrackingNumberGenerator(5, frozenClock, leaseStore);
+
+        int numbers = (int) (2 * SnowflakeTrackingNumberGenerator.LEASE_SECONDS * SnowflakeTrackingNumberGenerator.COUNTER_SPACE);
+        for (int i = 0; i < numbers; i++) {
+            generator.nextTrackingNumber();
+        }
+
+        assertThat(leaseStore.reservations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void layoutKeepsMonthPrefixNodeAndCheckDigit() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-01T00:00:05Z"), ISTANBUL);
+        SnowflakeTrackingNumberGenerator generator = new SnowflakeTrackingNumberGenerator(42, clock, new InMemoryLeaseStore());
+
+        String trackingNumber = generator.nextTrackingNumber();
+
+        // 2026-10-01T03:00:05 İstanbul saati: ayın 10805. saniyesi, sayaç 0
+        assertThat(trackingNumber).hasSize(18).startsWith("2610" + "042" + "0010805" + "000");
+        assertThat(SnowflakeTrackingNumberGenerator.isValid(trackingNumber)).isTrue();
+        char wrongCheckDigit = (char) ('0' + (trackingNumber.charAt(17) - '0' + 1) % 10);
+        assertThat(SnowflakeTrackingNumberGenerator.isValid(trackingNumber.substring(0, 17) + wrongCheckDigit)).isFalse();
+    }
+
+    @Test
+    void rejectsOutOfRangeNodeId() {
+        assertThatThrownBy(() -> new SnowflakeTrackingNumberGenerator(1000, Clock.system(ISTANBUL), new InMemoryLeaseStore()))
+                .isInstanceOf(TrackingNumberGenerationException.class);
+    }
+
+    private static Clock steppingClock(AtomicLong epochSecond) {
+        return new Clock() {
+            @Override public ZoneId getZone() { return ISTANBUL; }
+            @Override public Clock withZone(ZoneId zone) { return this; }
+            @Override public Instant instant() { return Instant.ofEpochSecond(epochSecond.get()); }
+        };
+    }
+
+    /** Düğümlerin kira sınırlarını veritabanı yerine bellekte tutar; yeniden başlatma aynı örnekle taklit edilir. */
+    private static final class InMemoryLeaseStore implements TrackingNumberLeaseStore {
+
+        private final Map<Integer, Long> leasedUntil = new HashMap<>();
+        private final AtomicInteger reservations = new AtomicInteger();
+
+        @Override
+        public synchronized long reserve(int nodeId, long fromEpochSecond, long seconds) {
+            reservations.incrementAndGet();
+            long rangeStart = Math.max(leasedUntil.getOrDefault(nodeId, 0L), fromEpochSecond);
+            leasedUntil.put(nodeId, rangeStart + seconds);
+            return rangeStart;
+        }
+    }
+}